@@ -0,0 +1,175 @@
+package org.example.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.entity.IdempotencyRecord;
+import org.example.service.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Replays the stored response of a POST that carries an already seen Idempotency-Key instead of
+ * running it again. Only the paths listed in {@code idempotency.paths} are covered.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+
+    @Autowired
+    IdempotencyStore idempotencyStore;
+
+    @Value("${idempotency.paths:/api/v1/transaction,/api/v1/auth/signup}")
+    private Set<String> paths;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !paths.contains(request.getRequestURI().substring(request.getContextPath().length()))
+                || !StringUtils.hasText(request.getHeader(HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = scopedKey(request.getHeader(HEADER));
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String fingerprint = fingerprint(request, body);
+
+        IdempotencyRecord existing = idempotencyStore.reserve(key, fingerprint);
+        if (existing != null) {
+            if (!fingerprint.equals(existing.getFingerprint())) {
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                        "Idempotency-Key was already used for a different request");
+            } else if (!existing.isCompleted()) {
+                response.sendError(HttpStatus.CONFLICT.value(),
+                        "A request with this Idempotency-Key is still in progress");
+            } else {
+                response.setStatus(existing.getResponseStatus());
+                if (existing.getContentType() != null) {
+                    response.setContentType(existing.getContentType());
+                }
+                response.setHeader("Idempotent-Replayed", "true");
+                if (existing.getResponseBody() != null) {
+                    response.getOutputStream().write(existing.getResponseBody());
+                }
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+        if (responseWrapper.getStatus() >= 500) {
+            idempotencyStore.release(key);
+        } else {
+            idempotencyStore.complete(key, responseWrapper.getStatus(), responseWrapper.getContentType(),
+                    responseWrapper.getContentAsByteArray());
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Keys are only unique per caller, so the stored key is the client's key hashed together with
+     * the authenticated principal. Two users reusing a key never see each other's response.
+     */
+    private static String scopedKey(String key) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = authentication == null || authentication instanceof AnonymousAuthenticationToken
+                ? "" : authentication.getName();
+        MessageDigest digest = sha256();
+        digest.update((principal + "\n").getBytes(StandardCharsets.UTF_8));
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest = sha256();
+        digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** The body is already buffered, so all of it is available straight away. */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
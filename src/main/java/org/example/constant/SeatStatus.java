@@ -2,6 +2,7 @@ package org.example.constant;
 
 public enum SeatStatus {
     OPEN,
+    HELD,
     BOOKED,
     UNAVAILABLE
 }
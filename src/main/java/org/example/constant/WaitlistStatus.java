@@ -0,0 +1,7 @@
+package org.example.constant;
+
+public enum WaitlistStatus {
+    WAITING,
+    PROMOTED,
+    CANCELLED
+}
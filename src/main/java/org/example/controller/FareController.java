@@ -0,0 +1,134 @@
+package org.example.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.constant.SeatType;
+import org.example.entity.Fare;
+import org.example.service.FareCalendarService;
+import org.example.service.FareService;
+import org.example.util.ETags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/fare")
+public class FareController {
+    static final int MAX_CALENDAR_DAYS = 366;
+
+    @Autowired
+    FareService fareService;
+
+    @Autowired
+    FareCalendarService fareCalendarService;
+
+    @GetMapping(value = "/flight")
+    public ResponseEntity<?> getByFlight(@RequestParam Integer flightId) {
+        try {
+            List<Fare> fares = fareService.findByFlightId(flightId);
+            if (ObjectUtils.isEmpty(fares)) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                return ResponseEntity.ok().body(fares);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/id")
+    public ResponseEntity<?> getById(@RequestParam Integer id) {
+        try {
+            Fare fare = fareService.findById(id);
+            if (ObjectUtils.isEmpty(fare)) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                return ResponseEntity.ok().eTag(ETags.of(fare)).body(fare);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<?> saveFare(@RequestBody Fare fare) {
+        try {
+            fare.setId(null);
+            Fare savedFare = fareService.save(fare);
+            return ResponseEntity.ok().body(savedFare);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.badRequest()
+                    .body("Not found");
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @PutMapping
+    public ResponseEntity<?> editFare(@RequestBody Fare fare,
+                                      @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        try {
+            if (!ETags.applyIfMatch(fare, ifMatch) && fare.getId() != null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                        .body("If-Match header or version is required");
+            }
+            Fare savedFare = fareService.save(fare);
+            return ResponseEntity.ok().eTag(ETags.of(savedFare)).body(savedFare);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.badRequest()
+                    .body("Not found");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Resource was modified by another request");
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> deleteFare(@RequestParam Integer id) {
+        try {
+            if (ObjectUtils.isEmpty(fareService.findById(id))) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                fareService.delete(id);
+                return ResponseEntity.ok().body("Deleted");
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/calendar")
+    public ResponseEntity<?> getCalendar(
+            @RequestParam String departureCode,
+            @RequestParam String arrivalCode,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate dateFrom,
+            @RequestParam(defaultValue = "60") Integer days,
+            @RequestParam(required = false) SeatType seatType) {
+        try {
+            if (days < 1 || days > MAX_CALENDAR_DAYS) {
+                return ResponseEntity.badRequest()
+                        .body("days must be between 1 and " + MAX_CALENDAR_DAYS);
+            }
+            return ResponseEntity.ok().body(fareCalendarService.getCalendar(departureCode, arrivalCode, seatType, dateFrom, days));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+}
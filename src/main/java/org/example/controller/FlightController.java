@@ -1,15 +1,30 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
 import org.example.constant.FlightStatus;
 import org.example.entity.Flight;
+import org.example.exception.ScheduleConflictException;
+import org.example.payload.FlightDetail;
+import org.example.payload.FlightSummary;
+import org.example.payload.TimeSlot;
+import org.example.service.AirportAutocompleteService;
+import org.example.service.ConnectionSearchService;
+import org.example.service.FlightScheduleService;
 import org.example.service.FlightService;
+import org.example.util.ETags;
+import org.example.util.JsonStreamWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,6 +39,18 @@ public class FlightController {
     @Autowired
     FlightService flightService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    FlightScheduleService flightScheduleService;
+
+    @Autowired
+    AirportAutocompleteService airportAutocompleteService;
+
+    @Autowired
+    ConnectionSearchService connectionSearchService;
+
     @GetMapping(value = "/conditions")
     public ResponseEntity<?> getByConditions(
             @RequestParam String flightName,
@@ -64,9 +91,16 @@ public class FlightController {
     }
 
     @GetMapping(value = "/all")
-    public ResponseEntity<?> getAll(@RequestParam Integer pageNum
-            , @RequestParam Integer pageSize) {
+    public ResponseEntity<?> getAll(@RequestParam(required = false) Integer pageNum
+            , @RequestParam Integer pageSize, @RequestParam(required = false) String cursor) {
         try {
+            if (cursor != null) {
+                return ResponseEntity.ok().body(flightService.findPage(cursor, pageSize));
+            }
+            if (pageNum == null) {
+                return ResponseEntity.badRequest()
+                        .body("pageNum or cursor is required");
+            }
             Pageable pageable = PageRequest.of(pageNum, pageSize);
             List<Flight> flightList = flightService
                     .findAll(pageable);
@@ -76,6 +110,9 @@ public class FlightController {
             } else {
                 return ResponseEntity.ok().body(flightList);
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -90,7 +127,39 @@ public class FlightController {
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(transaction);
+                return ResponseEntity.ok().eTag(ETags.of(transaction)).body(transaction);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/summaries")
+    public ResponseEntity<?> getSummaries(@RequestParam Integer pageNum, @RequestParam Integer pageSize) {
+        try {
+            List<FlightSummary> summaries = flightService.findSummaries(PageRequest.of(pageNum, pageSize));
+            if (ObjectUtils.isEmpty(summaries)) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                return ResponseEntity.ok().body(summaries);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/detail")
+    public ResponseEntity<?> getDetail(@RequestParam Integer id) {
+        try {
+            FlightDetail detail = flightService.findDetail(id);
+            if (ObjectUtils.isEmpty(detail)) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                return ResponseEntity.ok().body(detail);
             }
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -109,6 +178,9 @@ public class FlightController {
             } else {
                 return ResponseEntity.ok().body(savedFlight);
             }
+        } catch (ScheduleConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -116,15 +188,26 @@ public class FlightController {
     }
 
     @PutMapping
-    public ResponseEntity<?> editFlight(@RequestBody Flight transaction) {
+    public ResponseEntity<?> editFlight(@RequestBody Flight transaction,
+                                        @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
+            if (!ETags.applyIfMatch(transaction, ifMatch) && transaction.getId() != null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                        .body("If-Match header or version is required");
+            }
             Flight editedFlight = flightService.save(transaction);
             if (ObjectUtils.isEmpty(transaction)) {
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(editedFlight);
+                return ResponseEntity.ok().eTag(ETags.of(editedFlight)).body(editedFlight);
             }
+        } catch (ScheduleConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Resource was modified by another request");
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -134,10 +217,17 @@ public class FlightController {
     @PutMapping(value = "/list")
     public ResponseEntity<?> editFlights(@RequestBody List<Flight> transactions) {
         try {
-            for(Flight transaction : transactions){
-                Flight savedFlight = flightService.save(transaction);
-            }
+            flightService.saveAll(transactions);
             return ResponseEntity.ok().body("Edited");
+        } catch (ScheduleConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.badRequest()
+                    .body("Not found");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Resource was modified by another request");
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -161,15 +251,100 @@ public class FlightController {
     }
 
     @GetMapping(value = "/status")
-    public ResponseEntity<?> getByStatus(@RequestParam FlightStatus statusEnum) {
+    public ResponseEntity<?> getByStatus(@RequestParam FlightStatus statusEnum,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            List<Flight> transaction = flightService.findByStatus(statusEnum);
-            if (ObjectUtils.isEmpty(transaction)) {
+            boolean ndjson = JsonStreamWriter.wantsNdjson(accept);
+            StreamingResponseBody body = out -> {
+                try (JsonStreamWriter writer = new JsonStreamWriter(objectMapper, out, ndjson)) {
+                    flightService.streamByStatus(statusEnum, writer::write);
+                    writer.finish();
+                }
+            };
+            return ResponseEntity.ok().contentType(JsonStreamWriter.contentType(ndjson)).body(body);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/slots")
+    public ResponseEntity<?> getFreeSlots(
+            @RequestParam(required = false) Integer planeId,
+            @RequestParam(required = false) String gate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            if (planeId == null && (gate == null || gate.isBlank())) {
                 return ResponseEntity.badRequest()
-                        .body("Not found");
-            } else {
-                return ResponseEntity.ok().body(transaction);
+                        .body("planeId or gate is required");
             }
+            List<TimeSlot> slots = flightScheduleService.findFreeSlots(planeId, gate, from, to);
+            return ResponseEntity.ok().body(slots);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @PostMapping(value = "/delay")
+    public ResponseEntity<?> delayFlight(@RequestParam Integer flightId, @RequestParam Long delayMinutes,
+                                         @RequestParam(required = false) Long minTurnaroundMinutes) {
+        try {
+            if (delayMinutes <= 0 || (minTurnaroundMinutes != null && minTurnaroundMinutes < 0)) {
+                return ResponseEntity.badRequest()
+                        .body("delayMinutes must be positive and minTurnaroundMinutes not negative");
+            }
+            List<Flight> delayedFlights = flightScheduleService.propagateDelay(flightId, delayMinutes, minTurnaroundMinutes);
+            return ResponseEntity.ok().body(delayedFlights);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.badRequest()
+                    .body("Not found");
+        } catch (ScheduleConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/autocomplete")
+    public ResponseEntity<?> autocomplete(@RequestParam String query,
+                                          @RequestParam(defaultValue = "10") Integer limit) {
+        try {
+            return ResponseEntity.ok().body(airportAutocompleteService.suggest(query, limit));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/connections")
+    public ResponseEntity<?> getConnections(
+            @RequestParam String departureCode,
+            @RequestParam String arrivalCode,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate dateFrom,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate dateTo,
+            @RequestParam(required = false) Integer maxStops,
+            @RequestParam(required = false) Long minConnectionMinutes) {
+        try {
+            return ResponseEntity.ok().body(connectionSearchService.findConnections(departureCode, arrivalCode,
+                    dateFrom.atStartOfDay(), dateTo.atTime(LocalTime.MAX), maxStops, minConnectionMinutes));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(defaultValue = "500") Integer limit) {
+        try {
+            return ResponseEntity.ok().body(flightService.findChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -1,11 +1,19 @@
 package org.example.controller;
 
+import jakarta.persistence.EntityNotFoundException;
 import org.example.constant.Category;
 import org.example.entity.News;
+import org.example.service.ListingCountService;
 import org.example.service.NewsService;
+import org.example.serviceImpl.NewsResponseCache;
+import org.example.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.ObjectUtils;
@@ -19,17 +27,37 @@ public class NewsController {
     @Autowired
     NewsService newsService;
 
+    @Autowired
+    ListingCountService listingCountService;
+
+    @Autowired
+    NewsResponseCache newsResponseCache;
+
     @GetMapping(value = "/all")
-    public ResponseEntity<?> getAll(@RequestParam Integer pageNum, @RequestParam Integer pageSize) {
+    public ResponseEntity<?> getAll(@RequestParam(required = false) Integer pageNum, @RequestParam Integer pageSize,
+                                    @RequestParam(required = false) String cursor) {
         try {
+            if (cursor != null) {
+                return ResponseEntity.ok().body(newsService.findPage(cursor, pageSize));
+            }
+            if (pageNum == null) {
+                return ResponseEntity.badRequest()
+                        .body("pageNum or cursor is required");
+            }
             Pageable pageable = PageRequest.of(pageNum, pageSize);
             List<News> newsList = newsService.findAll(pageable);
             if (ObjectUtils.isEmpty(newsList)) {
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(newsList);
+                return ResponseEntity.ok()
+                        .header(ListingCountService.TOTAL_COUNT_HEADER,
+                                String.valueOf(listingCountService.approximateTotal(ListingCountService.NEWS)))
+                        .body(newsList);
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -56,15 +84,17 @@ public class NewsController {
 
     @GetMapping(value = "/category")
     public ResponseEntity<?> getByCategory(@RequestParam Category category
-            , @RequestParam Integer pageNum, @RequestParam Integer pageSize) {
+            , @RequestParam Integer pageNum, @RequestParam Integer pageSize
+            , @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+            , @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
             Pageable pageable = PageRequest.of(pageNum, pageSize);
-            List<News> newsList = newsService.findByCategory(category, pageable);
-            if (ObjectUtils.isEmpty(newsList)) {
+            NewsResponseCache.Encoded newsList = newsResponseCache.categoryPage(category, pageable);
+            if (newsList == null) {
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(newsList);
+                return encodedResponse(newsList, ifNoneMatch, acceptEncoding);
             }
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -73,14 +103,16 @@ public class NewsController {
     }
 
     @GetMapping(value = "/id")
-    public ResponseEntity<?> getById(@RequestParam Integer id) {
+    public ResponseEntity<?> getById(@RequestParam Integer id,
+                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            News news = newsService.findById(id);
-            if (ObjectUtils.isEmpty(news)) {
+            NewsResponseCache.Encoded news = newsResponseCache.article(id);
+            if (news == null) {
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(news);
+                return encodedResponse(news, ifNoneMatch, acceptEncoding);
             }
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -101,10 +133,18 @@ public class NewsController {
     }
 
     @PutMapping
-    public ResponseEntity<?> editNews(@RequestBody News news) {
+    public ResponseEntity<?> editNews(@RequestBody News news,
+                                      @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
+            if (!ETags.applyIfMatch(news, ifMatch) && news.getId() != null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                        .body("If-Match header or version is required");
+            }
             News savedNews = newsService.save(news);
-            return ResponseEntity.ok().body(savedNews);
+            return ResponseEntity.ok().eTag(ETags.of(savedNews)).body(savedNews);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Resource was modified by another request");
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -114,10 +154,14 @@ public class NewsController {
     @PutMapping(value = "/list")
     public ResponseEntity<?> editNewsList(@RequestBody List<News> newsList) {
         try {
-            for(News news : newsList){
-                News savedNews = newsService.save(news);
-            }
+            newsService.saveAll(newsList);
             return ResponseEntity.ok().body("Edited");
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.badRequest()
+                    .body("Not found");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Resource was modified by another request");
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -134,4 +178,69 @@ public class NewsController {
                     .body("Server Error");
         }
     }
+
+    private static ResponseEntity<?> encodedResponse(NewsResponseCache.Encoded encoded, String ifNoneMatch,
+                                                     String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String eTag = encoded.eTag(gzip);
+        if (encoded.matches(ifNoneMatch, gzip)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return response.body(encoded.json());
+    }
+
+    /** True when Accept-Encoding allows gzip, either by name or through "*", with a non-zero q. */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase();
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        double q = gzip != null ? gzip : any != null ? any : 0;
+        return q > 0;
+    }
+
+    @GetMapping(value = "/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(defaultValue = "500") Integer limit) {
+        try {
+            return ResponseEntity.ok().body(newsService.findChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
 }
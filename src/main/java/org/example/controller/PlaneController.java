@@ -1,13 +1,18 @@
 package org.example.controller;
 
 
+import jakarta.persistence.EntityNotFoundException;
 import org.example.entity.Plane;
 import org.example.entity.User;
+import org.example.service.ListingCountService;
 import org.example.service.PlaneService;
 import org.example.service.UserService;
+import org.example.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +25,9 @@ public class PlaneController {
     @Autowired
     PlaneService planeService;
 
+    @Autowired
+    ListingCountService listingCountService;
+
     @GetMapping(value = "/name")
     public ResponseEntity<?> getByEmail(@RequestParam String name, @RequestParam Integer pageNum
             , @RequestParam Integer pageSize){
@@ -57,7 +65,7 @@ public class PlaneController {
                 return ResponseEntity.badRequest()
                         .body("Error: Id is not exist!");
             } else {
-                return ResponseEntity.ok().body(plane);
+                return ResponseEntity.ok().eTag(ETags.of(plane)).body(plane);
             }
         } catch (Exception e){
             return ResponseEntity.internalServerError()
@@ -66,17 +74,30 @@ public class PlaneController {
     }
 
     @GetMapping(value = "/all")
-    public ResponseEntity<?> getAll(@RequestParam Integer pageNum
-            , @RequestParam Integer pageSize) {
+    public ResponseEntity<?> getAll(@RequestParam(required = false) Integer pageNum
+            , @RequestParam Integer pageSize, @RequestParam(required = false) String cursor) {
         try {
+            if (cursor != null) {
+                return ResponseEntity.ok().body(planeService.findPage(cursor, pageSize));
+            }
+            if (pageNum == null) {
+                return ResponseEntity.badRequest()
+                        .body("pageNum or cursor is required");
+            }
             Pageable pageable = PageRequest.of(pageNum, pageSize);
             List<Plane> planeList = planeService.findAll(pageable);
             if(planeList.isEmpty()){
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(planeList);
+                return ResponseEntity.ok()
+                        .header(ListingCountService.TOTAL_COUNT_HEADER,
+                                String.valueOf(listingCountService.approximateTotal(ListingCountService.PLANE)))
+                        .body(planeList);
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(e.getMessage());
         } catch (Exception e){
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -101,19 +122,43 @@ public class PlaneController {
     }
 
     @PutMapping
-    public ResponseEntity<?> editUser(@RequestBody Plane plane){
+    public ResponseEntity<?> editUser(@RequestBody Plane plane,
+                                      @RequestHeader(value = "If-Match", required = false) String ifMatch){
         try {
-            if(planeService.existsById(plane.getId())){
-                planeService.save(plane);
-                return ResponseEntity.ok()
-                        .body("Edited");
-            } else {
+            if (plane.getId() == null) {
                 return ResponseEntity.badRequest()
-                        .body("Not found");
+                        .body("Id is required");
+            }
+            if (!ETags.applyIfMatch(plane, ifMatch)) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                        .body("If-Match header or version is required");
             }
+            Plane savedPlane = planeService.save(plane);
+            return ResponseEntity.ok().eTag(ETags.of(savedPlane))
+                    .body("Edited");
+        } catch (EntityNotFoundException e){
+            return ResponseEntity.badRequest()
+                    .body("Not found");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Resource was modified by another request");
         } catch (Exception e){
             return ResponseEntity.internalServerError()
                     .body("Server Error");
         }
     }
+
+    @GetMapping(value = "/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(defaultValue = "500") Integer limit) {
+        try {
+            return ResponseEntity.ok().body(planeService.findChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
 }
@@ -1,11 +1,16 @@
 package org.example.controller;
 
+import jakarta.persistence.EntityNotFoundException;
 import org.example.constant.SeatStatus;
 import org.example.entity.Seat;
+import org.example.service.ListingCountService;
 import org.example.service.SeatService;
+import org.example.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +23,9 @@ public class SeatController {
     @Autowired
     SeatService seatService;
 
+    @Autowired
+    ListingCountService listingCountService;
+
     @GetMapping(value = "/conditions")
     public ResponseEntity<?> getByEmail(@RequestParam String name
             , @RequestParam Boolean haveWindow
@@ -46,7 +54,7 @@ public class SeatController {
                 return ResponseEntity.badRequest()
                         .body("Error: Id is not exist!");
             } else {
-                return ResponseEntity.ok().body(seat);
+                return ResponseEntity.ok().eTag(ETags.of(seat)).body(seat);
             }
         } catch (Exception e){
             return ResponseEntity.internalServerError()
@@ -55,17 +63,30 @@ public class SeatController {
     }
 
     @GetMapping(value = "/all")
-    public ResponseEntity<?> getAll(@RequestParam Integer pageNum
-            , @RequestParam Integer pageSize) {
+    public ResponseEntity<?> getAll(@RequestParam(required = false) Integer pageNum
+            , @RequestParam Integer pageSize, @RequestParam(required = false) String cursor) {
         try {
+            if (cursor != null) {
+                return ResponseEntity.ok().body(seatService.findPage(cursor, pageSize));
+            }
+            if (pageNum == null) {
+                return ResponseEntity.badRequest()
+                        .body("pageNum or cursor is required");
+            }
             Pageable pageable = PageRequest.of(pageNum, pageSize);
             List<Seat> seatList = seatService.findAll(pageable);
             if(seatList.isEmpty()){
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(seatList);
+                return ResponseEntity.ok()
+                        .header(ListingCountService.TOTAL_COUNT_HEADER,
+                                String.valueOf(listingCountService.approximateTotal(ListingCountService.SEAT)))
+                        .body(seatList);
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(e.getMessage());
         } catch (Exception e){
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -102,16 +123,26 @@ public class SeatController {
     }
 
     @PutMapping
-    public ResponseEntity<?> editUser(@RequestBody Seat seat){
+    public ResponseEntity<?> editUser(@RequestBody Seat seat,
+                                      @RequestHeader(value = "If-Match", required = false) String ifMatch){
         try {
-            if(seatService.existsById(seat.getId())){
-                seatService.save(seat);
-                return ResponseEntity.ok()
-                        .body("Edited");
-            } else {
+            if (seat.getId() == null) {
                 return ResponseEntity.badRequest()
-                        .body("Not found");
+                        .body("Id is required");
+            }
+            if (!ETags.applyIfMatch(seat, ifMatch)) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                        .body("If-Match header or version is required");
             }
+            Seat savedSeat = seatService.save(seat);
+            return ResponseEntity.ok().eTag(ETags.of(savedSeat))
+                    .body("Edited");
+        } catch (EntityNotFoundException e){
+            return ResponseEntity.badRequest()
+                    .body("Not found");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Resource was modified by another request");
         } catch (Exception e){
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -0,0 +1,132 @@
+package org.example.controller;
+
+import jakarta.validation.Valid;
+import org.example.entity.Transaction;
+import org.example.exception.SeatHoldForbiddenException;
+import org.example.exception.SeatHoldNotFoundException;
+import org.example.exception.SeatUnavailableException;
+import org.example.payload.ConfirmHoldRequest;
+import org.example.payload.GroupSeatRequest;
+import org.example.payload.SeatHold;
+import org.example.payload.SeatHoldRequest;
+import org.example.security.UserDetailsImpl;
+import org.example.service.SeatAllocationService;
+import org.example.service.SeatHoldService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/seat-hold")
+public class SeatHoldController {
+    @Autowired
+    SeatHoldService seatHoldService;
+
+    @Autowired
+    SeatAllocationService seatAllocationService;
+
+    @PostMapping
+    public ResponseEntity<?> holdSeat(@Valid @RequestBody SeatHoldRequest request,
+                                      @AuthenticationPrincipal UserDetailsImpl principal) {
+        try {
+            SeatHold hold = seatHoldService.hold(request.getFlightId(), request.getSeatId(), userIdOf(principal));
+            return ResponseEntity.ok().body(hold);
+        } catch (SeatUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @PostMapping(value = "/group")
+    public ResponseEntity<?> holdGroup(@Valid @RequestBody GroupSeatRequest request,
+                                       @AuthenticationPrincipal UserDetailsImpl principal) {
+        try {
+            request.setUserId(userIdOf(principal));
+            List<SeatHold> holds = seatAllocationService.allocateGroup(request);
+            if (ObjectUtils.isEmpty(holds)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body("No adjacent seats available");
+            } else {
+                return ResponseEntity.ok().body(holds);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/id")
+    public ResponseEntity<?> getById(@RequestParam String holdId) {
+        try {
+            SeatHold hold = seatHoldService.findById(holdId);
+            if (ObjectUtils.isEmpty(hold)) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                return ResponseEntity.ok().body(hold);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @PostMapping(value = "/confirm")
+    public ResponseEntity<?> confirmHold(@Valid @RequestBody ConfirmHoldRequest request,
+                                         @AuthenticationPrincipal UserDetailsImpl principal) {
+        try {
+            Transaction transaction = seatHoldService.confirm(request.getHoldId(), request.getPrice(), userIdOf(principal));
+            return ResponseEntity.ok().body(transaction);
+        } catch (SeatHoldNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(e.getMessage());
+        } catch (SeatHoldForbiddenException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> releaseHold(@RequestParam String holdId,
+                                         @AuthenticationPrincipal UserDetailsImpl principal) {
+        try {
+            if (seatHoldService.release(holdId, userIdOf(principal))) {
+                return ResponseEntity.ok().body("Released");
+            } else {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            }
+        } catch (SeatHoldForbiddenException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/status")
+    public ResponseEntity<?> getSeatStatus(@RequestParam Integer flightId, @RequestParam Integer seatId) {
+        try {
+            return ResponseEntity.ok().body(seatHoldService.findSeatStatus(flightId, seatId));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    private static Integer userIdOf(UserDetailsImpl principal) {
+        return principal == null ? null : principal.getId();
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.controller;
+
+import org.example.serviceImpl.FlightQueryCache;
+import org.example.serviceImpl.NewsResponseCache;
+import org.example.serviceImpl.RequestCoalescer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/stats")
+public class StatsController {
+    @Autowired
+    FlightQueryCache flightQueryCache;
+
+    @Autowired
+    RequestCoalescer requestCoalescer;
+
+    @Autowired
+    NewsResponseCache newsResponseCache;
+
+    @GetMapping
+    public ResponseEntity<?> getStats() {
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("flightCache", flightQueryCache.stats());
+            stats.put("coalescing", requestCoalescer.stats());
+            stats.put("newsCache", newsResponseCache.stats());
+            return ResponseEntity.ok().body(stats);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/coalescing")
+    public ResponseEntity<?> getCoalescingStats() {
+        try {
+            return ResponseEntity.ok().body(requestCoalescer.stats());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+}
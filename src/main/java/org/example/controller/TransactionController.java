@@ -1,15 +1,28 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
 import org.example.constant.TransactionStatusEnum;
 import org.example.entity.Transaction;
+import org.example.exception.SeatUnavailableException;
+import org.example.payload.TransactionDetail;
+import org.example.payload.TransactionSummary;
+import org.example.service.ListingCountService;
+import org.example.service.SeatInventoryService;
 import org.example.service.TransactionService;
 import org.example.serviceImpl.EmailService;
+import org.example.util.ETags;
+import org.example.util.JsonStreamWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.sql.Date;
 import java.util.List;
@@ -20,6 +33,15 @@ public class TransactionController {
     @Autowired
     TransactionService transactionService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ListingCountService listingCountService;
+
+    @Autowired
+    SeatInventoryService seatInventoryService;
+
     @GetMapping(value = "/conditions")
     public ResponseEntity<?> getByConditions(@RequestParam String flightName
             , @RequestParam Date dateFrom, @RequestParam Date dateTo, @RequestParam TransactionStatusEnum status
@@ -41,9 +63,16 @@ public class TransactionController {
     }
 
     @GetMapping(value = "/all")
-    public ResponseEntity<?> getAll(@RequestParam Integer pageNum
-            , @RequestParam Integer pageSize) {
+    public ResponseEntity<?> getAll(@RequestParam(required = false) Integer pageNum
+            , @RequestParam Integer pageSize, @RequestParam(required = false) String cursor) {
         try {
+            if (cursor != null) {
+                return ResponseEntity.ok().body(transactionService.findPage(cursor, pageSize));
+            }
+            if (pageNum == null) {
+                return ResponseEntity.badRequest()
+                        .body("pageNum or cursor is required");
+            }
             Pageable pageable = PageRequest.of(pageNum, pageSize);
             List<Transaction> transactionList = transactionService
                     .findAll(pageable);
@@ -51,8 +80,14 @@ public class TransactionController {
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(transactionList);
+                return ResponseEntity.ok()
+                        .header(ListingCountService.TOTAL_COUNT_HEADER,
+                                String.valueOf(listingCountService.approximateTotal(ListingCountService.TRANSACTION)))
+                        .body(transactionList);
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -67,7 +102,39 @@ public class TransactionController {
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(transaction);
+                return ResponseEntity.ok().eTag(ETags.of(transaction)).body(transaction);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/summaries")
+    public ResponseEntity<?> getSummaries(@RequestParam Integer pageNum, @RequestParam Integer pageSize) {
+        try {
+            List<TransactionSummary> summaries = transactionService.findSummaries(PageRequest.of(pageNum, pageSize));
+            if (ObjectUtils.isEmpty(summaries)) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                return ResponseEntity.ok().body(summaries);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/detail")
+    public ResponseEntity<?> getDetail(@RequestParam Integer id) {
+        try {
+            TransactionDetail detail = transactionService.findDetail(id);
+            if (ObjectUtils.isEmpty(detail)) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                return ResponseEntity.ok().body(detail);
             }
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -86,6 +153,9 @@ public class TransactionController {
             } else {
                 return ResponseEntity.ok().body(savedTransaction);
             }
+        } catch (SeatUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -93,15 +163,26 @@ public class TransactionController {
     }
 
     @PutMapping
-    public ResponseEntity<?> editTransaction(@RequestBody Transaction transaction) {
+    public ResponseEntity<?> editTransaction(@RequestBody Transaction transaction,
+                                             @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
+            if (!ETags.applyIfMatch(transaction, ifMatch) && transaction.getId() != null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                        .body("If-Match header or version is required");
+            }
             Transaction savedTransaction = transactionService.save(transaction);
             if (ObjectUtils.isEmpty(transaction)) {
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(savedTransaction);
+                return ResponseEntity.ok().eTag(ETags.of(savedTransaction)).body(savedTransaction);
             }
+        } catch (SeatUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Resource was modified by another request");
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -111,10 +192,17 @@ public class TransactionController {
     @PutMapping(value = "/list")
     public ResponseEntity<?> editTransactions(@RequestBody List<Transaction> transactions) {
         try {
-            for(Transaction transaction : transactions){
-                Transaction savedTransaction = transactionService.save(transaction);
-            }
+            transactionService.saveAll(transactions);
             return ResponseEntity.ok().body("Edited");
+        } catch (SeatUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.badRequest()
+                    .body("Not found");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("Resource was modified by another request");
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -138,15 +226,17 @@ public class TransactionController {
     }
 
     @GetMapping(value = "/status")
-    public ResponseEntity<?> getByStatus(@RequestParam TransactionStatusEnum statusEnum) {
+    public ResponseEntity<?> getByStatus(@RequestParam TransactionStatusEnum statusEnum,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            List<Transaction> transaction = transactionService.findByStatus(statusEnum);
-            if (ObjectUtils.isEmpty(transaction)) {
-                return ResponseEntity.badRequest()
-                        .body("Not found");
-            } else {
-                return ResponseEntity.ok().body(transaction);
-            }
+            boolean ndjson = JsonStreamWriter.wantsNdjson(accept);
+            StreamingResponseBody body = out -> {
+                try (JsonStreamWriter writer = new JsonStreamWriter(objectMapper, out, ndjson)) {
+                    transactionService.streamByStatus(statusEnum, writer::write);
+                    writer.finish();
+                }
+            };
+            return ResponseEntity.ok().contentType(JsonStreamWriter.contentType(ndjson)).body(body);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -168,4 +258,24 @@ public class TransactionController {
                     .body("Server Error");
         }
     }
+
+    @GetMapping(value = "/seats")
+    public ResponseEntity<?> getBookedSeats(@RequestParam Integer flightId) {
+        try {
+            return ResponseEntity.ok().body(seatInventoryService.findBookedSeats(flightId));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/seat/available")
+    public ResponseEntity<?> isSeatAvailable(@RequestParam Integer flightId, @RequestParam Integer seatId) {
+        try {
+            return ResponseEntity.ok().body(seatInventoryService.isAvailable(flightId, seatId));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
 }
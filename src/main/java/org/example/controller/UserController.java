@@ -1,6 +1,9 @@
 package org.example.controller;
 
 import org.example.entity.User;
+import org.example.payload.UserDetail;
+import org.example.payload.UserSummary;
+import org.example.service.ListingCountService;
 import org.example.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -17,6 +20,9 @@ public class UserController {
     @Autowired
     UserService userService;
 
+    @Autowired
+    ListingCountService listingCountService;
+
     @GetMapping(value = "/email")
     public ResponseEntity<?> getByEmail(@RequestParam String email){
         try {
@@ -48,18 +54,63 @@ public class UserController {
         }
     }
 
+    @GetMapping(value = "/summaries")
+    public ResponseEntity<?> getSummaries(@RequestParam Integer pageNum, @RequestParam Integer pageSize) {
+        try {
+            List<UserSummary> summaries = userService.findSummaries(PageRequest.of(pageNum, pageSize));
+            if (ObjectUtils.isEmpty(summaries)) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                return ResponseEntity.ok().body(summaries);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/detail")
+    public ResponseEntity<?> getDetail(@RequestParam Integer id) {
+        try {
+            UserDetail detail = userService.findDetail(id);
+            if (ObjectUtils.isEmpty(detail)) {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            } else {
+                return ResponseEntity.ok().body(detail);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
     @GetMapping(value = "/all")
-    public ResponseEntity<?> getAll(@RequestParam Integer pageNum
-            , @RequestParam Integer pageSize) {
+    public ResponseEntity<?> getAll(@RequestParam(required = false) Integer pageNum
+            , @RequestParam Integer pageSize, @RequestParam(required = false) String cursor) {
         try {
+            if (cursor != null) {
+                return ResponseEntity.ok().body(userService.findPage(cursor, pageSize));
+            }
+            if (pageNum == null) {
+                return ResponseEntity.badRequest()
+                        .body("pageNum or cursor is required");
+            }
             Pageable pageable = PageRequest.of(pageNum, pageSize);
             List<User> userList = userService.findAll(pageable);
             if(userList.isEmpty()){
                 return ResponseEntity.badRequest()
                         .body("Not found");
             } else {
-                return ResponseEntity.ok().body(userList);
+                return ResponseEntity.ok()
+                        .header(ListingCountService.TOTAL_COUNT_HEADER,
+                                String.valueOf(listingCountService.approximateTotal(ListingCountService.USER)))
+                        .body(userList);
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(e.getMessage());
         } catch (Exception e){
             return ResponseEntity.internalServerError()
                     .body("Server Error");
@@ -87,7 +138,11 @@ public class UserController {
     public ResponseEntity<?> editUser(@RequestBody User user){
         try {
             if(userService.existsById(user.getId())){
-                user.setPassword(userService.findById(user.getId()).getPassword());
+                User storedUser = userService.findById(user.getId());
+                user.setPassword(storedUser.getPassword());
+                if (user.getVersion() == null) {
+                    user.setVersion(storedUser.getVersion());
+                }
                 userService.save(user);
                 return ResponseEntity.ok()
                         .body("Edited");
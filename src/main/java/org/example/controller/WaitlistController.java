@@ -0,0 +1,52 @@
+package org.example.controller;
+
+import jakarta.validation.Valid;
+import org.example.entity.WaitlistEntry;
+import org.example.payload.WaitlistRequest;
+import org.example.service.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/waitlist")
+public class WaitlistController {
+    @Autowired
+    WaitlistService waitlistService;
+
+    @PostMapping
+    public ResponseEntity<?> joinWaitlist(@Valid @RequestBody WaitlistRequest request) {
+        try {
+            WaitlistEntry entry = waitlistService.join(request);
+            return ResponseEntity.ok().body(entry);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> leaveWaitlist(@RequestParam Integer id) {
+        try {
+            if (waitlistService.leave(id)) {
+                return ResponseEntity.ok().body("Deleted");
+            } else {
+                return ResponseEntity.badRequest()
+                        .body("Not found");
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+
+    @GetMapping(value = "/flight")
+    public ResponseEntity<?> countByFlight(@RequestParam Integer flightId) {
+        try {
+            return ResponseEntity.ok().body(waitlistService.countWaiting(flightId));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Server Error");
+        }
+    }
+}
@@ -34,4 +34,8 @@ public class BaseObject {
     private Date updateDate;
 
     private boolean isDeleted = false;
+
+    @Version
+    @Column(name = "VERSION", columnDefinition = "bigint default 0")
+    private Long version;
 }
@@ -0,0 +1,26 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.constant.SeatType;
+
+import java.math.BigDecimal;
+
+@Table(name = "FARE", uniqueConstraints = @UniqueConstraint(columnNames = {"FLIGHT_ID", "SEAT_TYPE"}))
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class Fare extends BaseObject{
+    @ManyToOne
+    @JoinColumn(name = "FLIGHT_ID", nullable = false)
+    private Flight flight;
+
+    @Column(name = "SEAT_TYPE", nullable = false)
+    private SeatType seatType;
+
+    @Column(name = "AMOUNT", nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+}
@@ -7,7 +7,9 @@ import org.example.constant.SeatStatus;
 
 import java.time.LocalDateTime;
 
-@Table(name = "FLIGHT")
+@Table(name = "FLIGHT", indexes = {
+        @Index(name = "IDX_FLIGHT_START_TIME", columnList = "START_TIME, ID"),
+        @Index(name = "IDX_FLIGHT_UPDATE_DATE", columnList = "updateDate, ID")})
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
@@ -0,0 +1,37 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+@Table(name = "IDEMPOTENCY_KEY")
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class IdempotencyRecord extends BaseObject{
+    @Column(name = "IDEMPOTENCY_KEY", nullable = false, unique = true)
+    private String idempotencyKey;
+
+    @Column(name = "FINGERPRINT", nullable = false)
+    private String fingerprint;
+
+    @Column(name = "COMPLETED", nullable = false)
+    private boolean completed;
+
+    @Column(name = "RESPONSE_STATUS")
+    private Integer responseStatus;
+
+    @Column(name = "CONTENT_TYPE")
+    private String contentType;
+
+    @Lob
+    @Column(name = "RESPONSE_BODY")
+    private byte[] responseBody;
+
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private Date expiresAt;
+}
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.example.constant.Category;
 
-@Table(name = "NEWS")
+@Table(name = "NEWS", indexes = {
+        @Index(name = "IDX_NEWS_CREATE_DATE", columnList = "createDate, ID"),
+        @Index(name = "IDX_NEWS_UPDATE_DATE", columnList = "updateDate, ID")})
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
@@ -1,12 +1,20 @@
 package org.example.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-@Table(name = "PLANE")
+@Table(name = "PLANE", indexes = {
+        @Index(name = "IDX_PLANE_CREATE_DATE", columnList = "createDate, ID"),
+        @Index(name = "IDX_PLANE_UPDATE_DATE", columnList = "updateDate, ID")})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
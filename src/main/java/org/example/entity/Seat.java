@@ -5,9 +5,13 @@ import lombok.*;
 import org.example.constant.FlightStatus;
 import org.example.constant.SeatStatus;
 import org.example.constant.SeatType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-@Table(name = "SEAT")
+@Table(name = "SEAT", indexes = @Index(name = "IDX_SEAT_CREATE_DATE", columnList = "createDate, ID"))
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
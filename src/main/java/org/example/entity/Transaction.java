@@ -7,7 +7,7 @@ import org.example.constant.TransactionStatusEnum;
 import java.sql.Date;
 import java.util.List;
 
-@Table(name = "TRANSACTION")
+@Table(name = "TRANSACTION", indexes = @Index(name = "IDX_TRANSACTION_CREATE_DATE", columnList = "createDate, ID"))
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
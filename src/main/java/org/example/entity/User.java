@@ -7,7 +7,7 @@ import org.example.constant.Role;
 
 import java.sql.Date;
 
-@Table(name = "USER")
+@Table(name = "USER", indexes = @Index(name = "IDX_USER_CREATE_DATE", columnList = "createDate, ID"))
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
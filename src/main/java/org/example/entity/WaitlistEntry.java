@@ -0,0 +1,36 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.constant.SeatType;
+import org.example.constant.WaitlistStatus;
+
+@Table(name = "WAITLIST")
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class WaitlistEntry extends BaseObject{
+    @ManyToOne
+    @JoinColumn(name = "USER_ID", nullable = false)
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "FLIGHT_ID", nullable = false)
+    private Flight flight;
+
+    @Column(name = "SEAT_TYPE", nullable = false)
+    private SeatType seatType;
+
+    @Column(name = "PRICE", nullable = false)
+    private String price;
+
+    @Column(name = "STATUS", nullable = false)
+    private WaitlistStatus status;
+
+    @ManyToOne
+    @JoinColumn(name = "TRANSACTION_ID")
+    private Transaction transaction;
+}
@@ -0,0 +1,17 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.entity.Fare;
+
+@Getter
+@AllArgsConstructor
+public class FareChangedEvent {
+    private final Fare fare;
+    /** Flight the fare belonged to before this change, when it was moved to another flight. */
+    private final Integer previousFlightId;
+
+    public FareChangedEvent(Fare fare) {
+        this(fare, null);
+    }
+}
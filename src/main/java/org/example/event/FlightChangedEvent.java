@@ -0,0 +1,14 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.entity.Flight;
+
+/**
+ * Published after a flight has been created, edited or soft-deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class FlightChangedEvent {
+    private final Flight flight;
+}
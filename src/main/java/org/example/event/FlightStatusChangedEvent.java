@@ -0,0 +1,17 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.constant.FlightStatus;
+
+import java.util.List;
+
+/**
+ * Published after a bulk status update, which bypasses the entities and so {@link FlightChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class FlightStatusChangedEvent {
+    private final List<Integer> flightIds;
+    private final FlightStatus status;
+}
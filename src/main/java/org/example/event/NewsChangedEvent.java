@@ -0,0 +1,14 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.entity.News;
+
+/**
+ * Published after a news article has been created, edited or soft-deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class NewsChangedEvent {
+    private final News news;
+}
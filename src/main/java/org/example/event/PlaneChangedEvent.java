@@ -0,0 +1,14 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.entity.Plane;
+
+/**
+ * Published after a plane has been edited or soft-deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class PlaneChangedEvent {
+    private final Plane plane;
+}
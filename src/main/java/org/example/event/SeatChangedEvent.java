@@ -0,0 +1,10 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SeatChangedEvent {
+    private final Integer seatId;
+}
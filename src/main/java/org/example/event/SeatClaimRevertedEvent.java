@@ -0,0 +1,15 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a claim is taken back because the booking it was made for failed. Unlike
+ * {@link SeatReleasedEvent} it does not offer the seat to the waitlist again.
+ */
+@Getter
+@AllArgsConstructor
+public class SeatClaimRevertedEvent {
+    private final Integer flightId;
+    private final Integer seatId;
+}
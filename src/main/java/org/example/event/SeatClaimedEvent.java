@@ -0,0 +1,11 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SeatClaimedEvent {
+    private final Integer flightId;
+    private final Integer seatId;
+}
@@ -0,0 +1,15 @@
+package org.example.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ScheduleConflictException extends RuntimeException {
+    private final List<Integer> conflictingFlightIds;
+
+    public ScheduleConflictException(List<Integer> conflictingFlightIds) {
+        super("Flight overlaps flights " + conflictingFlightIds + " on the same plane or gate");
+        this.conflictingFlightIds = conflictingFlightIds;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.exception;
+
+public class SeatHoldForbiddenException extends RuntimeException {
+    public SeatHoldForbiddenException(String holdId) {
+        super("Seat hold " + holdId + " belongs to another user");
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.exception;
+
+public class SeatHoldNotFoundException extends RuntimeException {
+    public SeatHoldNotFoundException(String holdId) {
+        super("Seat hold " + holdId + " does not exist or has expired");
+    }
+}
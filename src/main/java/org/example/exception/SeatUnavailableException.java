@@ -0,0 +1,7 @@
+package org.example.exception;
+
+public class SeatUnavailableException extends RuntimeException {
+    public SeatUnavailableException(Integer flightId, Integer seatId) {
+        super("Seat " + seatId + " is not available on flight " + flightId);
+    }
+}
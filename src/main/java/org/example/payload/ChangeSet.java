@@ -0,0 +1,30 @@
+package org.example.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One poll of a changes feed. Rows are ordered by updateDate, which the application stamps when
+ * it flushes the row, not when the transaction commits. Rows stamped within the last
+ * sync.changes.safety-lag-millis are held back, so a client never misses a change as long as
+ * every write commits within that lag of its stamp, counting clock skew between application
+ * nodes. A transaction that runs longer, or a node whose clock is further behind, can commit a
+ * row behind a watermark already handed out. That row is then only seen on its next change, so
+ * clients that must not miss anything should resync through the keyset pages now and then.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ChangeSet<T> {
+    /** Rows created, edited or soft-deleted after the requested watermark, oldest first. */
+    private List<T> items;
+    /** Watermark to send as "since" on the next poll. */
+    private String watermark;
+    /** True when more changes are waiting and the client should poll again straight away. */
+    private boolean hasMore;
+}
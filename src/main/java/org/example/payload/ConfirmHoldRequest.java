@@ -0,0 +1,15 @@
+package org.example.payload;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ConfirmHoldRequest {
+    @NotBlank
+    private String holdId;
+
+    @NotBlank
+    private String price;
+}
@@ -0,0 +1,18 @@
+package org.example.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CursorPage<T> {
+    private List<T> items;
+    /** Opaque cursor of the next page, or null on the last page. */
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package org.example.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.constant.SeatType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class FareCalendarDay {
+    private LocalDate date;
+    private BigDecimal minFare;
+    private SeatType seatType;
+    private Integer flightId;
+}
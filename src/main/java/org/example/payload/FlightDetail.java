@@ -0,0 +1,10 @@
+package org.example.payload;
+
+import org.example.constant.FlightStatus;
+
+import java.time.LocalDateTime;
+
+public record FlightDetail(Integer id, String name, String departure, String departureCode, String arrival,
+                           String arrivalCode, LocalDateTime startTime, LocalDateTime endTime, FlightStatus status,
+                           String gate, Integer planeId, String planeName, Long version) {
+}
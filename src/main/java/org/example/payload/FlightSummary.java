@@ -0,0 +1,10 @@
+package org.example.payload;
+
+import org.example.constant.FlightStatus;
+
+import java.time.LocalDateTime;
+
+/** Row of the flight list view; selected column by column instead of loading the entity. */
+public record FlightSummary(Integer id, String name, String departureCode, String arrivalCode,
+                            LocalDateTime startTime, LocalDateTime endTime, FlightStatus status, String gate) {
+}
@@ -0,0 +1,29 @@
+package org.example.payload;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.example.constant.SeatType;
+
+@Getter
+@Setter
+public class GroupSeatRequest {
+    @NotNull
+    private Integer flightId;
+
+    @NotNull
+    @Min(1)
+    @Max(64)
+    private Integer partySize;
+
+    private SeatType seatType;
+
+    private boolean preferWindow;
+
+    /** Set from the authenticated user, never from the request body. */
+    @JsonIgnore
+    private Integer userId;
+}
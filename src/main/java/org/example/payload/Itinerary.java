@@ -0,0 +1,21 @@
+package org.example.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.entity.Flight;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class Itinerary {
+    private List<Flight> flights;
+    private int stops;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+}
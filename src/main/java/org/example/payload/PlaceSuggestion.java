@@ -0,0 +1,16 @@
+package org.example.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PlaceSuggestion {
+    private String name;
+    private String code;
+    private int flightCount;
+}
@@ -0,0 +1,20 @@
+package org.example.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SeatHold {
+    private String id;
+    private Integer flightId;
+    private Integer seatId;
+    private Integer userId;
+    private Date expiresAt;
+}
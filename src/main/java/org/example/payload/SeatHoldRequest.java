@@ -0,0 +1,15 @@
+package org.example.payload;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SeatHoldRequest {
+    @NotNull
+    private Integer flightId;
+
+    @NotNull
+    private Integer seatId;
+}
@@ -0,0 +1,13 @@
+package org.example.payload;
+
+import org.example.constant.SeatType;
+import org.example.constant.TransactionStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+public record TransactionDetail(Integer id, Integer userId, String userName, String userEmail, Integer flightId,
+                                String flightName, String departureCode, String arrivalCode,
+                                LocalDateTime startTime, Integer seatId, String seatName, SeatType seatType,
+                                TransactionStatusEnum status, String price, Date createDate, Long version) {
+}
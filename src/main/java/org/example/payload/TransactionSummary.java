@@ -0,0 +1,10 @@
+package org.example.payload;
+
+import org.example.constant.TransactionStatusEnum;
+
+import java.util.Date;
+
+/** Row of the transaction list view; carries names only, not the user, flight and seat graphs. */
+public record TransactionSummary(Integer id, String userName, String flightName, String seatName,
+                                 TransactionStatusEnum status, String price, Date createDate) {
+}
@@ -0,0 +1,9 @@
+package org.example.payload;
+
+import org.example.constant.Role;
+
+import java.util.Date;
+
+public record UserDetail(Integer id, String email, String name, String phoneNum, String gender,
+                         java.sql.Date birthday, String address, Role role, Date createDate) {
+}
@@ -0,0 +1,7 @@
+package org.example.payload;
+
+import org.example.constant.Role;
+
+/** Row of the user list view; leaves out personal data such as the ID number and address. */
+public record UserSummary(Integer id, String name, String email, Role role) {
+}
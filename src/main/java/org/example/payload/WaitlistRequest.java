@@ -0,0 +1,23 @@
+package org.example.payload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.example.constant.SeatType;
+
+@Getter
+@Setter
+public class WaitlistRequest {
+    @NotNull
+    private Integer flightId;
+
+    @NotNull
+    private Integer userId;
+
+    @NotNull
+    private SeatType seatType;
+
+    @NotBlank
+    private String price;
+}
@@ -0,0 +1,22 @@
+package org.example.repository;
+
+import org.example.entity.Fare;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface FareRepository extends JpaRepository<Fare, String> {
+    Fare findByIdAndIsDeletedFalse(Integer id);
+
+    List<Fare> findByFlightIdAndIsDeletedFalse(Integer flightId);
+
+    @Query("SELECT f.flight.id FROM Fare f WHERE f.id = :id")
+    Integer findFlightIdById(@Param("id") Integer id);
+
+    @Query("SELECT f.flight.id, f.flight.departureCode, f.flight.arrivalCode, f.flight.startTime, f.seatType, f.amount " +
+           "FROM Fare f WHERE f.isDeleted = false AND f.flight.isDeleted = false " +
+           "AND f.flight.status <> org.example.constant.FlightStatus.CANCEL")
+    List<Object[]> findCalendarRows();
+}
@@ -1,25 +1,49 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.constant.FlightStatus;
 import org.example.entity.Flight;
+import org.example.payload.FlightDetail;
+import org.example.payload.FlightSummary;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface FlightRepository extends JpaRepository<Flight, String> {
+    @EntityGraph(attributePaths = "plane")
     List<Flight> findByIsDeletedFalse(Pageable pageable);
 
     Flight findByIdAndIsDeletedFalse(Integer id);
 
-    List<Flight> findByStatusAndIsDeletedFalse(FlightStatus statusEnum);
+    @EntityGraph(attributePaths = "plane")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT f FROM Flight f LEFT JOIN FETCH f.plane WHERE f.status = :status AND f.isDeleted = false ORDER BY f.id")
+    Stream<Flight> streamByStatus(@Param("status") FlightStatus status);
 
+    List<Flight> findByIdIn(Collection<Integer> ids);
+
+    @EntityGraph(attributePaths = "plane")
     List<Flight> findByIsDeletedFalseAndNameContainsAndStartTimeBetweenAndDepartureContainsAndArrivalContains
             (String flightName, LocalDateTime dateFrom, LocalDateTime dateTo, String departure, String arrival, Pageable pageable);
 
+    @EntityGraph(attributePaths = "plane")
+    List<Flight> findByIdInAndIsDeletedFalseAndNameContainsAndStartTimeBetweenAndDepartureContainsAndArrivalContains
+            (Collection<Integer> ids, String flightName, LocalDateTime dateFrom, LocalDateTime dateTo, String departure, String arrival, Pageable pageable);
+
+    @EntityGraph(attributePaths = "plane")
     @Query("SELECT f FROM Flight f WHERE f.isDeleted = false " +
            "AND (LOWER(f.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
            "OR LOWER(f.departureCode) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
@@ -34,4 +58,78 @@ public interface FlightRepository extends JpaRepository<Flight, String> {
             @Param("departure") String departure,
             @Param("arrival") String arrival,
             Pageable pageable);
+
+    @EntityGraph(attributePaths = "plane")
+    @Query("SELECT f FROM Flight f WHERE f.id IN :ids AND f.isDeleted = false " +
+           "AND (LOWER(f.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(f.departureCode) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(f.arrivalCode) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
+           "AND f.startTime BETWEEN :dateFrom AND :dateTo " +
+           "AND LOWER(f.departure) LIKE LOWER(CONCAT('%', :departure, '%')) " +
+           "AND LOWER(f.arrival) LIKE LOWER(CONCAT('%', :arrival, '%'))")
+    List<Flight> searchFlightsIn(
+            @Param("ids") Collection<Integer> ids,
+            @Param("searchTerm") String searchTerm,
+            @Param("dateFrom") LocalDateTime dateFrom,
+            @Param("dateTo") LocalDateTime dateTo,
+            @Param("departure") String departure,
+            @Param("arrival") String arrival,
+            Pageable pageable);
+
+    @Query("SELECT f.id, f.name, f.departureCode, f.arrivalCode, f.departure, f.arrival, f.startTime FROM Flight f " +
+           "WHERE f.isDeleted = false ORDER BY f.id")
+    List<Object[]> findSearchRows();
+
+    @Query("SELECT f.id, f.departureCode, f.departure, f.arrivalCode, f.arrival, f.startTime FROM Flight f " +
+           "WHERE f.isDeleted = false ORDER BY f.startTime, f.id")
+    List<Object[]> findRouteRows();
+
+    @Query("SELECT f.id, f.departureCode, f.arrivalCode, f.startTime, f.endTime FROM Flight f " +
+           "WHERE f.isDeleted = false AND f.status <> org.example.constant.FlightStatus.CANCEL ORDER BY f.startTime, f.id")
+    List<Object[]> findConnectionRows();
+
+    @Query("SELECT f.id, f.plane.id, f.gate, f.startTime, f.endTime FROM Flight f " +
+           "WHERE f.isDeleted = false AND f.status <> org.example.constant.FlightStatus.CANCEL")
+    List<Object[]> findScheduleRows();
+
+    @Query("SELECT f.id, f.startTime FROM Flight f WHERE f.isDeleted = false AND f.status IN :statuses")
+    List<Object[]> findDepartureRows(@Param("statuses") Collection<FlightStatus> statuses);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Flight f SET f.status = :status, f.version = f.version + 1, f.updateDate = :updateDate " +
+           "WHERE f.id IN :ids AND f.isDeleted = false AND f.status IN :fromStatuses AND f.startTime <= :now")
+    int closeDeparted(@Param("ids") Collection<Integer> ids,
+                      @Param("fromStatuses") Collection<FlightStatus> fromStatuses,
+                      @Param("status") FlightStatus status,
+                      @Param("now") LocalDateTime now,
+                      @Param("updateDate") Date updateDate);
+
+    @EntityGraph(attributePaths = "plane")
+    @Query("SELECT f FROM Flight f WHERE f.isDeleted = false ORDER BY f.startTime, f.id")
+    List<Flight> findFirstKeysetPage(Pageable limit);
+
+    @EntityGraph(attributePaths = "plane")
+    @Query("SELECT f FROM Flight f WHERE f.isDeleted = false " +
+           "AND (f.startTime > :startTime OR (f.startTime = :startTime AND f.id > :id)) ORDER BY f.startTime, f.id")
+    List<Flight> findKeysetPageAfter(@Param("startTime") LocalDateTime startTime, @Param("id") Integer id, Pageable limit);
+
+    @Query("SELECT new org.example.payload.FlightSummary(f.id, f.name, f.departureCode, f.arrivalCode, " +
+           "f.startTime, f.endTime, f.status, f.gate) FROM Flight f WHERE f.isDeleted = false ORDER BY f.id")
+    List<FlightSummary> findSummaries(Pageable pageable);
+
+    @Query("SELECT new org.example.payload.FlightDetail(f.id, f.name, f.departure, f.departureCode, f.arrival, " +
+           "f.arrivalCode, f.startTime, f.endTime, f.status, f.gate, p.id, p.name, f.version) " +
+           "FROM Flight f JOIN f.plane p WHERE f.id = :id AND f.isDeleted = false")
+    FlightDetail findDetail(@Param("id") Integer id);
+
+    @EntityGraph(attributePaths = "plane")
+    @Query("SELECT f FROM Flight f WHERE f.updateDate < :upTo ORDER BY f.updateDate, f.id")
+    List<Flight> findFirstChanges(@Param("upTo") Date upTo, Pageable limit);
+
+    @EntityGraph(attributePaths = "plane")
+    @Query("SELECT f FROM Flight f WHERE (f.updateDate > :updateDate " +
+           "OR (f.updateDate = :updateDate AND f.id > :id)) AND f.updateDate < :upTo ORDER BY f.updateDate, f.id")
+    List<Flight> findChangesAfter(@Param("updateDate") Date updateDate, @Param("id") Integer id,
+                                  @Param("upTo") Date upTo, Pageable limit);
 }
@@ -2,13 +2,36 @@ package org.example.repository;
 
 import org.example.constant.Category;
 import org.example.entity.News;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 
 public interface NewsRepository extends JpaRepository<News, String> {
-    public Page<News> findByIsDeletedFalse(Pageable pageable);
-    public Page<News> findByTitleContainsAndIsDeletedFalse(String title, Pageable pageable);
-    public Page<News> findByCategoryAndIsDeletedFalse(Category category, Pageable pageable);
+    public Slice<News> findByIsDeletedFalse(Pageable pageable);
+    public long countByIsDeletedFalse();
+    public Slice<News> findByTitleContainsAndIsDeletedFalse(String title, Pageable pageable);
+    public Slice<News> findByCategoryAndIsDeletedFalse(Category category, Pageable pageable);
     public News findByIdAndIsDeletedFalse(Integer id);
+    public List<News> findByIdIn(Collection<Integer> ids);
+
+    @Query("SELECT n FROM News n WHERE n.isDeleted = false ORDER BY n.createDate, n.id")
+    List<News> findFirstKeysetPage(Pageable limit);
+
+    @Query("SELECT n FROM News n WHERE n.isDeleted = false " +
+           "AND (n.createDate > :createDate OR (n.createDate = :createDate AND n.id > :id)) ORDER BY n.createDate, n.id")
+    List<News> findKeysetPageAfter(@Param("createDate") Date createDate, @Param("id") Integer id, Pageable limit);
+
+    @Query("SELECT n FROM News n WHERE n.updateDate < :upTo ORDER BY n.updateDate, n.id")
+    public List<News> findFirstChanges(@Param("upTo") Date upTo, Pageable limit);
+
+    @Query("SELECT n FROM News n WHERE (n.updateDate > :updateDate " +
+           "OR (n.updateDate = :updateDate AND n.id > :id)) AND n.updateDate < :upTo ORDER BY n.updateDate, n.id")
+    public List<News> findChangesAfter(@Param("updateDate") Date updateDate, @Param("id") Integer id,
+                                       @Param("upTo") Date upTo, Pageable limit);
 }
@@ -1,12 +1,38 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.entity.Plane;
-import org.springframework.data.domain.Page;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
 
 public interface PlaneRepository extends JpaRepository<Plane, String> {
-    Page<Plane> findByNameContainsAndIsDeletedFalse(String name, Pageable pageable);
-    Page<Plane> findByIsDeletedFalse(Pageable pageable);
+    Slice<Plane> findByNameContainsAndIsDeletedFalse(String name, Pageable pageable);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-listings")})
+    Slice<Plane> findByIsDeletedFalse(Pageable pageable);
+    long countByIsDeletedFalse();
     Boolean existsByIdAndIsDeletedFalse(Integer id);
+
+    @Query("SELECT p FROM Plane p WHERE p.isDeleted = false ORDER BY p.createDate, p.id")
+    List<Plane> findFirstKeysetPage(Pageable limit);
+
+    @Query("SELECT p FROM Plane p WHERE p.isDeleted = false " +
+           "AND (p.createDate > :createDate OR (p.createDate = :createDate AND p.id > :id)) ORDER BY p.createDate, p.id")
+    List<Plane> findKeysetPageAfter(@Param("createDate") Date createDate, @Param("id") Integer id, Pageable limit);
+
+    @Query("SELECT p FROM Plane p WHERE p.updateDate < :upTo ORDER BY p.updateDate, p.id")
+    List<Plane> findFirstChanges(@Param("upTo") Date upTo, Pageable limit);
+
+    @Query("SELECT p FROM Plane p WHERE (p.updateDate > :updateDate " +
+           "OR (p.updateDate = :updateDate AND p.id > :id)) AND p.updateDate < :upTo ORDER BY p.updateDate, p.id")
+    List<Plane> findChangesAfter(@Param("updateDate") Date updateDate, @Param("id") Integer id,
+                                 @Param("upTo") Date upTo, Pageable limit);
 }
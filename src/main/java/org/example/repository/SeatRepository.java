@@ -1,13 +1,34 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.entity.Seat;
-import org.springframework.data.domain.Page;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
 
 public interface SeatRepository extends JpaRepository<Seat, String> {
     Seat findByIdAndIsDeletedFalse(Integer id);
     Boolean existsByIdAndIsDeletedFalse(Integer id);
-    Page<Seat> findByIsDeletedFalse(Pageable pageable);
-    Page<Seat> findByNameContainsAndHaveWindowAndDeletedFalse(String name, Boolean haveWindow, Pageable pageable);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-listings")})
+    Slice<Seat> findByIsDeletedFalse(Pageable pageable);
+    long countByIsDeletedFalse();
+    Slice<Seat> findByNameContainsAndHaveWindowAndDeletedFalse(String name, Boolean haveWindow, Pageable pageable);
+
+    @Query("SELECT s.id, s.name, s.type, s.haveWindow FROM Seat s WHERE s.isDeleted = false")
+    List<Object[]> findLayoutRows();
+
+    @Query("SELECT s FROM Seat s WHERE s.isDeleted = false ORDER BY s.createDate, s.id")
+    List<Seat> findFirstKeysetPage(Pageable limit);
+
+    @Query("SELECT s FROM Seat s WHERE s.isDeleted = false " +
+           "AND (s.createDate > :createDate OR (s.createDate = :createDate AND s.id > :id)) ORDER BY s.createDate, s.id")
+    List<Seat> findKeysetPageAfter(@Param("createDate") Date createDate, @Param("id") Integer id, Pageable limit);
 }
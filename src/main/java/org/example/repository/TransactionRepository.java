@@ -1,23 +1,69 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.constant.TransactionStatusEnum;
 import org.example.entity.Transaction;
-import org.springframework.data.domain.Page;
+import org.example.payload.TransactionDetail;
+import org.example.payload.TransactionSummary;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, String> {
+    @EntityGraph(attributePaths = {"user", "flight", "flight.plane", "seat"})
     public List<Transaction> findByFlightNameContainsAndAndCreateDateBetweenAndStatusAndIsDeletedFalse(String flightName, Date dateFrom, Date dateTo,
                                                                          TransactionStatusEnum status, Pageable pageable);
 
-    public List<Transaction> findByStatusAndIsDeletedFalse(TransactionStatusEnum status);
+    @EntityGraph(attributePaths = {"user", "flight", "flight.plane", "seat"})
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.user LEFT JOIN FETCH t.flight f " +
+           "LEFT JOIN FETCH f.plane LEFT JOIN FETCH t.seat " +
+           "WHERE t.status = :status AND t.isDeleted = false ORDER BY t.id")
+    public Stream<Transaction> streamByStatus(@Param("status") TransactionStatusEnum status);
 
-    public Page<Transaction> findByIsDeletedFalse(Pageable pageable);
+    @EntityGraph(attributePaths = {"user", "flight", "flight.plane", "seat"})
+    public Slice<Transaction> findByIsDeletedFalse(Pageable pageable);
 
+    public long countByIsDeletedFalse();
+
+    @EntityGraph(attributePaths = {"user", "flight", "flight.plane", "seat"})
     public List<Transaction> findByFlightIdAndIsDeletedFalse(Integer id);
 
     public Transaction findByIdAndIsDeletedFalse(Integer id);
+
+    public List<Transaction> findByIdIn(Collection<Integer> ids);
+
+    @Query("SELECT t.flight.id, t.seat.id FROM Transaction t WHERE t.isDeleted = false AND t.status NOT IN :statuses")
+    public List<Object[]> findSeatClaims(@Param("statuses") Collection<TransactionStatusEnum> statuses);
+
+    @EntityGraph(attributePaths = {"user", "flight", "flight.plane", "seat"})
+    @Query("SELECT t FROM Transaction t WHERE t.isDeleted = false ORDER BY t.createDate, t.id")
+    List<Transaction> findFirstKeysetPage(Pageable limit);
+
+    @EntityGraph(attributePaths = {"user", "flight", "flight.plane", "seat"})
+    @Query("SELECT t FROM Transaction t WHERE t.isDeleted = false " +
+           "AND (t.createDate > :createDate OR (t.createDate = :createDate AND t.id > :id)) ORDER BY t.createDate, t.id")
+    List<Transaction> findKeysetPageAfter(@Param("createDate") java.util.Date createDate, @Param("id") Integer id, Pageable limit);
+
+    @Query("SELECT new org.example.payload.TransactionSummary(t.id, u.name, f.name, s.name, t.status, t.price, " +
+           "t.createDate) FROM Transaction t LEFT JOIN t.user u JOIN t.flight f JOIN t.seat s WHERE t.isDeleted = false " +
+           "ORDER BY t.id")
+    public List<TransactionSummary> findSummaries(Pageable pageable);
+
+    @Query("SELECT new org.example.payload.TransactionDetail(t.id, u.id, u.name, u.email, f.id, f.name, " +
+           "f.departureCode, f.arrivalCode, f.startTime, s.id, s.name, s.type, t.status, t.price, t.createDate, " +
+           "t.version) FROM Transaction t LEFT JOIN t.user u JOIN t.flight f JOIN t.seat s " +
+           "WHERE t.id = :id AND t.isDeleted = false")
+    public TransactionDetail findDetail(@Param("id") Integer id);
 }
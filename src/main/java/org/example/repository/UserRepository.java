@@ -1,14 +1,37 @@
 package org.example.repository;
 
 import org.example.entity.User;
-import org.springframework.data.domain.Page;
+import org.example.payload.UserDetail;
+import org.example.payload.UserSummary;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, String> {
     User findByEmailAndIsDeletedFalse(String email);
     Boolean existsByEmailAndIsDeletedFalse(String email);
-    Page<User> findByIsDeletedFalse(Pageable pageable);
+    Slice<User> findByIsDeletedFalse(Pageable pageable);
+    long countByIsDeletedFalse();
     Boolean existsByIdAndIsDeletedFalse(Integer id);
     User findByIdAndIsDeletedFalse(Integer id);
+
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false ORDER BY u.createDate, u.id")
+    List<User> findFirstKeysetPage(Pageable limit);
+
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false " +
+           "AND (u.createDate > :createDate OR (u.createDate = :createDate AND u.id > :id)) ORDER BY u.createDate, u.id")
+    List<User> findKeysetPageAfter(@Param("createDate") Date createDate, @Param("id") Integer id, Pageable limit);
+
+    @Query("SELECT new org.example.payload.UserSummary(u.id, u.name, u.email, u.role) FROM User u " +
+           "WHERE u.isDeleted = false ORDER BY u.id")
+    List<UserSummary> findSummaries(Pageable pageable);
+
+    @Query("SELECT new org.example.payload.UserDetail(u.id, u.email, u.name, u.phoneNum, u.gender, u.birthday, " +
+           "u.address, u.role, u.createDate) FROM User u WHERE u.id = :id AND u.isDeleted = false")
+    UserDetail findDetail(@Param("id") Integer id);
 }
@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.constant.WaitlistStatus;
+import org.example.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, String> {
+    WaitlistEntry findByIdAndIsDeletedFalse(Integer id);
+
+    @Query("SELECT w.id, w.flight.id, w.user.id, w.seatType, w.price, w.createDate FROM WaitlistEntry w " +
+           "WHERE w.isDeleted = false AND w.status = :status")
+    List<Object[]> findQueueRows(@Param("status") WaitlistStatus status);
+}
@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.example.payload.PlaceSuggestion;
+
+import java.util.List;
+
+public interface AirportAutocompleteService {
+    /**
+     * Suggests departure/arrival places whose city name, one of its words, or airport code starts
+     * with the query, ignoring case and Vietnamese diacritics. Busiest places come first.
+     */
+    List<PlaceSuggestion> suggest(String query, int limit);
+
+    void reload();
+}
@@ -0,0 +1,17 @@
+package org.example.service;
+
+import org.example.payload.Itinerary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ConnectionSearchService {
+    /**
+     * Finds the earliest-arriving itineraries between two airport codes whose first flight departs
+     * in [dateFrom, dateTo], one per number of stops, each arriving before those with fewer stops.
+     */
+    List<Itinerary> findConnections(String departureCode, String arrivalCode, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                    Integer maxStops, Long minConnectionMinutes);
+
+    void reload();
+}
@@ -0,0 +1,17 @@
+package org.example.service;
+
+import org.example.constant.SeatType;
+import org.example.payload.FareCalendarDay;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FareCalendarService {
+    /**
+     * Returns the cheapest fare with seats left for each day of the route, starting at dateFrom.
+     * A null seat type means any type. Days without such a fare have a null minFare.
+     */
+    List<FareCalendarDay> getCalendar(String departureCode, String arrivalCode, SeatType seatType, LocalDate dateFrom, int days);
+
+    void reload();
+}
@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.example.entity.Fare;
+
+import java.util.List;
+
+public interface FareService {
+    List<Fare> findByFlightId(Integer flightId);
+
+    Fare findById(Integer id);
+
+    Fare save(Fare fare);
+
+    void delete(Integer id);
+}
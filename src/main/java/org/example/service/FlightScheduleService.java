@@ -0,0 +1,40 @@
+package org.example.service;
+
+import org.example.entity.Flight;
+import org.example.payload.TimeSlot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+public interface FlightScheduleService {
+    /**
+     * Checks the flight against the plane and gate timelines, reserves its slot, runs the writer
+     * and then swaps the reservation for the saved flight's slot, or drops it if the writer fails.
+     * Only the check and the reservation are serialised, so concurrent edits cannot both take the
+     * same slot but do not wait on each other's database writes. A new flight that is still being
+     * written shows up in conflicts under a negative placeholder id.
+     */
+    Flight save(Flight flight, UnaryOperator<Flight> writer);
+
+    /**
+     * Batch form of {@link #save}: every flight is checked against the timelines and against the
+     * other flights of the batch and reserved, then the writer runs once for the whole list
+     * outside the lock. New flights that clash inside the batch are reported as -(row index + 1).
+     */
+    List<Flight> saveAll(List<Flight> flights, UnaryOperator<List<Flight>> writer);
+
+    void remove(Integer flightId);
+
+    /**
+     * Delays a flight and pushes back every later flight of the same plane that no longer has
+     * the minimum turnaround, saving all of them in one batch. The shifted slots are checked for
+     * gate clashes like any other save. The timelines keep the new slots only if the transaction
+     * commits, and change events go out after the commit. Returns the updated flights.
+     */
+    List<Flight> propagateDelay(Integer flightId, long delayMinutes, Long minTurnaroundMinutes);
+
+    List<TimeSlot> findFreeSlots(Integer planeId, String gate, LocalDateTime from, LocalDateTime to);
+
+    void reload();
+}
@@ -0,0 +1,11 @@
+package org.example.service;
+
+public interface FlightSearchIndexService {
+    /**
+     * Returns the sorted ids of the live flights that may match the search box filters, or null
+     * when none of the filters is long enough to narrow the search down.
+     */
+    int[] findCandidates(String searchTerm, String departure, String arrival);
+
+    void reload();
+}
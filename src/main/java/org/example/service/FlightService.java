@@ -2,10 +2,15 @@ package org.example.service;
 
 import org.example.constant.FlightStatus;
 import org.example.entity.Flight;
+import org.example.payload.ChangeSet;
+import org.example.payload.CursorPage;
+import org.example.payload.FlightDetail;
+import org.example.payload.FlightSummary;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FlightService {
     List<Flight> findByConditions(String flightName, LocalDateTime dateFrom, LocalDateTime dateTo, String departure, String arrival, Pageable pageable);
@@ -14,11 +19,25 @@ public interface FlightService {
 
     List<Flight> findAll(Pageable pageable);
 
+    CursorPage<Flight> findPage(String cursor, int pageSize);
+
+    ChangeSet<Flight> findChanges(String since, int limit);
+
+    List<FlightSummary> findSummaries(Pageable pageable);
+
+    FlightDetail findDetail(Integer id);
+
     Flight findById(Integer id);
 
     Flight save(Flight flight);
 
+    List<Flight> saveAll(List<Flight> flights);
+
     void delete(Integer id);
 
-    List<Flight> findByStatus(FlightStatus statusEnum);
+    /**
+     * Hands every flight with the given status to the consumer in id order, reading them through a
+     * database cursor instead of loading the whole result.
+     */
+    void streamByStatus(FlightStatus statusEnum, Consumer<Flight> consumer);
 }
@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.example.entity.IdempotencyRecord;
+
+public interface IdempotencyStore {
+    /**
+     * Reserves the key for a new request. Returns null when the caller now owns the key,
+     * otherwise the record already stored under it.
+     */
+    IdempotencyRecord reserve(String key, String fingerprint);
+
+    void complete(String key, int status, String contentType, byte[] body);
+
+    void release(String key);
+}
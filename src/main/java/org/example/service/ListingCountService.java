@@ -0,0 +1,21 @@
+package org.example.service;
+
+/**
+ * Row totals for the list endpoints. Listings are fetched as slices without a COUNT(*), and the
+ * totals reported next to them are refreshed in the background, so they may lag behind recent
+ * writes by up to one refresh interval.
+ */
+public interface ListingCountService {
+    String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    String NEWS = "news";
+    String PLANE = "plane";
+    String SEAT = "seat";
+    String USER = "user";
+    String TRANSACTION = "transaction";
+
+    /** Cached total of non-deleted rows; counted on the spot only before the first refresh. */
+    long approximateTotal(String listing);
+
+    void refresh();
+}
@@ -2,15 +2,21 @@ package org.example.service;
 
 import org.example.constant.Category;
 import org.example.entity.News;
+import org.example.payload.ChangeSet;
+import org.example.payload.CursorPage;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
 public interface NewsService {
     public List<News> findAll(Pageable pageable);
+
+    public CursorPage<News> findPage(String cursor, int pageSize);
+    public ChangeSet<News> findChanges(String since, int limit);
     public List<News> findByTitle(String title, Pageable pageable);
     public List<News> findByCategory(Category category, Pageable pageable);
     public News findById(Integer id);
     public News save(News book);
+    public List<News> saveAll(List<News> newsList);
     public void delete(Integer id);
 }
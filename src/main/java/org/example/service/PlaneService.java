@@ -2,6 +2,8 @@ package org.example.service;
 
 import org.example.entity.Plane;
 import org.example.entity.User;
+import org.example.payload.ChangeSet;
+import org.example.payload.CursorPage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -12,6 +14,10 @@ public interface PlaneService {
     Plane findById(Integer id);
     List<Plane> findAll(Pageable pageable);
 
+    CursorPage<Plane> findPage(String cursor, int pageSize);
+
+    ChangeSet<Plane> findChanges(String since, int limit);
+
     boolean existsById(Integer id);
 
     void deletesById(Integer id);
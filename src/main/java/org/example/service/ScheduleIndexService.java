@@ -0,0 +1,15 @@
+package org.example.service;
+
+import java.time.LocalDateTime;
+
+public interface ScheduleIndexService {
+    /**
+     * Returns the sorted ids of the live flights departing in [dateFrom, dateTo] between airports
+     * whose code is the given departure and arrival text or whose city name contains it, ignoring
+     * case and diacritics. A blank or too short side does not filter; when neither side filters
+     * the result is null, meaning the index cannot narrow the search.
+     */
+    int[] findCandidates(String departure, String arrival, LocalDateTime dateFrom, LocalDateTime dateTo);
+
+    void reload();
+}
@@ -0,0 +1,10 @@
+package org.example.service;
+
+import org.example.payload.GroupSeatRequest;
+import org.example.payload.SeatHold;
+
+import java.util.List;
+
+public interface SeatAllocationService {
+    List<SeatHold> allocateGroup(GroupSeatRequest request);
+}
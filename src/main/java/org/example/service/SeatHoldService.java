@@ -0,0 +1,21 @@
+package org.example.service;
+
+import org.example.constant.SeatStatus;
+import org.example.entity.Transaction;
+import org.example.payload.SeatHold;
+
+public interface SeatHoldService {
+    SeatHold hold(Integer flightId, Integer seatId, Integer userId);
+
+    SeatHold holdClaimed(Integer flightId, Integer seatId, Integer userId);
+
+    SeatHold findById(String holdId);
+
+    /** Releases the hold; only its holder may do so when the hold was taken by a signed-in user. */
+    boolean release(String holdId, Integer callerId);
+
+    /** Books the held seat; only its holder may do so when the hold was taken by a signed-in user. */
+    Transaction confirm(String holdId, String price, Integer callerId);
+
+    SeatStatus findSeatStatus(Integer flightId, Integer seatId);
+}
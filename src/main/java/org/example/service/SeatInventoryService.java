@@ -0,0 +1,19 @@
+package org.example.service;
+
+import org.example.util.SeatRowMasks;
+
+public interface SeatInventoryService {
+    boolean isAvailable(Integer flightId, Integer seatId);
+
+    boolean claim(Integer flightId, Integer seatId);
+
+    boolean release(Integer flightId, Integer seatId);
+
+    boolean revertClaim(Integer flightId, Integer seatId);
+
+    int[] findBookedSeats(Integer flightId);
+
+    SeatRowMasks rowMasks(Integer flightId);
+
+    void reload();
+}
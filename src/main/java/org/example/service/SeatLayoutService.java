@@ -0,0 +1,9 @@
+package org.example.service;
+
+import org.example.util.SeatLayout;
+
+public interface SeatLayoutService {
+    SeatLayout getLayout();
+
+    void reload();
+}
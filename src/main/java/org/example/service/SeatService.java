@@ -1,6 +1,7 @@
 package org.example.service;
 
 import org.example.entity.Seat;
+import org.example.payload.CursorPage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -13,6 +14,8 @@ public interface SeatService {
 
     List<Seat> findAll(Pageable pageable);
 
+    CursorPage<Seat> findPage(String cursor, int pageSize);
+
     boolean existsById(Integer id);
 
     void deletesById(Integer id);
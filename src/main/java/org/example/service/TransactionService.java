@@ -2,10 +2,14 @@ package org.example.service;
 
 import org.example.constant.TransactionStatusEnum;
 import org.example.entity.Transaction;
+import org.example.payload.CursorPage;
+import org.example.payload.TransactionDetail;
+import org.example.payload.TransactionSummary;
 import org.springframework.data.domain.Pageable;
 
 import java.sql.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransactionService {
     public List<Transaction> findByConditions(String flightName, Date dateFrom, Date dateTo, TransactionStatusEnum status,
@@ -15,11 +19,25 @@ public interface TransactionService {
 
     public List<Transaction> findAll(Pageable pageable);
 
+    public CursorPage<Transaction> findPage(String cursor, int pageSize);
+
+    public List<TransactionSummary> findSummaries(Pageable pageable);
+
+    public TransactionDetail findDetail(Integer id);
+
     public Transaction save(Transaction transaction);
 
+    public List<Transaction> saveAll(List<Transaction> transactions);
+
+    public Transaction saveClaimed(Transaction transaction);
+
     public void delete(Integer id);
 
     public List<Transaction> findByFlightId(Integer id);
 
-    public List<Transaction> findByStatus(TransactionStatusEnum status);
+    /**
+     * Hands every transaction with the given status to the consumer in id order, reading them through a
+     * database cursor instead of loading the whole result.
+     */
+    public void streamByStatus(TransactionStatusEnum status, Consumer<Transaction> consumer);
 }
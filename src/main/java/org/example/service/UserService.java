@@ -1,6 +1,9 @@
 package org.example.service;
 
 import org.example.entity.User;
+import org.example.payload.CursorPage;
+import org.example.payload.UserDetail;
+import org.example.payload.UserSummary;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -16,6 +19,12 @@ public interface UserService {
 
     public List<User> findAll(Pageable pageable);
 
+    public CursorPage<User> findPage(String cursor, int pageSize);
+
+    public List<UserSummary> findSummaries(Pageable pageable);
+
+    public UserDetail findDetail(Integer id);
+
     public boolean existsByEmail(String email);
 
     public boolean existsById(Integer id);
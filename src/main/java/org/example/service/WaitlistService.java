@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.example.constant.SeatType;
+import org.example.entity.WaitlistEntry;
+import org.example.payload.WaitlistRequest;
+
+import java.util.Map;
+
+public interface WaitlistService {
+    WaitlistEntry join(WaitlistRequest request);
+
+    boolean leave(Integer id);
+
+    Map<SeatType, Integer> countWaiting(Integer flightId);
+}
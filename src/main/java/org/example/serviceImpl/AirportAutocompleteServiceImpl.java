@@ -0,0 +1,204 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import org.example.entity.Flight;
+import org.example.event.FlightChangedEvent;
+import org.example.payload.PlaceSuggestion;
+import org.example.repository.FlightRepository;
+import org.example.service.AirportAutocompleteService;
+import org.example.util.PrefixTrie;
+import org.example.util.TextNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class AirportAutocompleteServiceImpl implements AirportAutocompleteService {
+    static final int MAX_SUGGESTIONS = 20;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    /** Values are place keys: the folded code, or the folded name for places without a code. */
+    private final PrefixTrie<String> trie = new PrefixTrie<>(MAX_SUGGESTIONS);
+    private final Map<String, Place> places = new HashMap<>();
+    private final Map<Integer, Stop[]> flightStops = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public List<PlaceSuggestion> suggest(String query, int limit) {
+        String prefix = TextNormalizer.fold(query).trim();
+        if (prefix.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            List<PlaceSuggestion> suggestions = new ArrayList<>();
+            for (String key : trie.top(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)))) {
+                Place place = places.get(key);
+                suggestions.add(new PlaceSuggestion(place.displayName(), place.code, place.flightCount));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PostConstruct
+    @Override
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            trie.clear();
+            places.clear();
+            flightStops.clear();
+            for (Object[] row : flightRepository.findSearchRows()) {
+                Stop[] stops = stopsOf((String) row[4], (String) row[2], (String) row[5], (String) row[3]);
+                flightStops.put((Integer) row[0], stops);
+                for (Stop stop : stops) {
+                    places.computeIfAbsent(stop.key, key -> new Place(stop.code)).count(stop.name, 1);
+                }
+            }
+            for (Map.Entry<String, Place> entry : places.entrySet()) {
+                index(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight.getId() == null) {
+            return;
+        }
+        Stop[] stops = flight.isDeleted() ? new Stop[0] : stopsOf(flight.getDeparture(),
+                flight.getDepartureCode(), flight.getArrival(), flight.getArrivalCode());
+        lock.writeLock().lock();
+        try {
+            Stop[] previous = stops.length == 0 ? flightStops.remove(flight.getId()) : flightStops.put(flight.getId(), stops);
+            if (previous != null) {
+                for (Stop stop : previous) {
+                    count(stop, -1);
+                }
+            }
+            for (Stop stop : stops) {
+                count(stop, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void count(Stop stop, int delta) {
+        Place place = places.computeIfAbsent(stop.key, key -> new Place(stop.code));
+        place.count(stop.name, delta);
+        if (place.flightCount <= 0) {
+            places.remove(stop.key);
+        }
+        index(stop.key, place);
+    }
+
+    /** Points the trie at the place's current keys and drops the keys it no longer has. */
+    private void index(String placeKey, Place place) {
+        Set<String> keys = place.flightCount > 0 ? keysOf(place) : Set.of();
+        for (String key : place.keys) {
+            if (!keys.contains(key)) {
+                trie.put(key, placeKey, 0);
+            }
+        }
+        for (String key : keys) {
+            trie.put(key, placeKey, place.flightCount);
+        }
+        place.keys = keys;
+    }
+
+    /**
+     * The folded spellings of the city name, every word suffix of them ("noi" for "Ha Noi") and
+     * the folded code.
+     */
+    private static Set<String> keysOf(Place place) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String spelling : place.names.keySet()) {
+            String name = TextNormalizer.fold(spelling).trim();
+            if (!name.isEmpty()) {
+                keys.add(name);
+                for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+                    String suffix = name.substring(i + 1).trim();
+                    if (!suffix.isEmpty()) {
+                        keys.add(suffix);
+                    }
+                }
+            }
+        }
+        String code = TextNormalizer.fold(place.code).trim();
+        if (!code.isEmpty()) {
+            keys.add(code);
+        }
+        return keys;
+    }
+
+    private static Stop[] stopsOf(String departure, String departureCode, String arrival, String arrivalCode) {
+        List<Stop> stops = new ArrayList<>(2);
+        addStop(stops, departure, departureCode);
+        addStop(stops, arrival, arrivalCode);
+        return stops.toArray(new Stop[0]);
+    }
+
+    private static void addStop(List<Stop> stops, String name, String code) {
+        String foldedCode = TextNormalizer.fold(code).trim();
+        String key = foldedCode.isEmpty() ? "name:" + TextNormalizer.fold(name).trim() : foldedCode;
+        if (!key.equals("name:")) {
+            stops.add(new Stop(key, name == null ? "" : name, code));
+        }
+    }
+
+    /** One end of a flight, as it was spelled on that flight. */
+    private record Stop(String key, String name, String code) {
+    }
+
+    /**
+     * A place shared by every flight whose code folds to the same key. Flights may spell the city
+     * differently; the most used spelling is the one shown.
+     */
+    private static class Place {
+        private final String code;
+        private final Map<String, Integer> names = new LinkedHashMap<>();
+        private int flightCount;
+        private Set<String> keys = Set.of();
+
+        private Place(String code) {
+            this.code = code;
+        }
+
+        void count(String name, int delta) {
+            flightCount += delta;
+            if (names.merge(name, delta, Integer::sum) <= 0) {
+                names.remove(name);
+            }
+        }
+
+        String displayName() {
+            String best = null;
+            int bestCount = 0;
+            for (Map.Entry<String, Integer> entry : names.entrySet()) {
+                if (entry.getValue() > bestCount) {
+                    best = entry.getKey();
+                    bestCount = entry.getValue();
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.serviceImpl;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.entity.BaseObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes large lists of entities chunk by chunk, one transaction per chunk. The stored rows of a
+ * chunk are loaded with a single IN query first, so the merges run against managed entities
+ * without a select per row, and the flush goes out as JDBC batches.
+ */
+@Component
+public class BulkWriter {
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${bulk.write.chunk-size:500}")
+    private int chunkSize;
+
+    public <T> List<List<T>> chunks(List<T> entities) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < entities.size(); from += chunkSize) {
+            chunks.add(entities.subList(from, Math.min(from + chunkSize, entities.size())));
+        }
+        return chunks;
+    }
+
+    public <T extends BaseObject> List<T> write(List<T> chunk, JpaRepository<T, String> repository,
+                                                Function<Collection<Integer>, List<T>> loader) {
+        return write(chunk, repository, loader, stored -> {
+        });
+    }
+
+    /**
+     * Saves one chunk in its own transaction. {@code beforeWrite} receives the stored state of the
+     * chunk's existing rows, keyed by id, and may throw to abort the chunk.
+     */
+    public <T extends BaseObject> List<T> write(List<T> chunk, JpaRepository<T, String> repository,
+                                                Function<Collection<Integer>, List<T>> loader,
+                                                Consumer<Map<Integer, T>> beforeWrite) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            List<Integer> ids = new ArrayList<>();
+            for (T entity : chunk) {
+                if (entity.getId() != null) {
+                    ids.add(entity.getId());
+                }
+            }
+            Map<Integer, T> stored = new HashMap<>();
+            if (!ids.isEmpty()) {
+                for (T entity : loader.apply(ids)) {
+                    stored.put(entity.getId(), entity);
+                }
+            }
+            for (T entity : chunk) {
+                if (entity.getId() == null) {
+                    continue;
+                }
+                T current = stored.get(entity.getId());
+                if (current == null) {
+                    throw new EntityNotFoundException("Row " + entity.getId() + " does not exist");
+                }
+                if (entity.getVersion() == null) {
+                    entity.setVersion(current.getVersion() == null ? 0L : current.getVersion());
+                }
+            }
+            beforeWrite.accept(stored);
+            return repository.saveAll(chunk);
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import org.example.constant.FlightStatus;
+import org.example.entity.Flight;
+import org.example.event.FlightChangedEvent;
+import org.example.payload.Itinerary;
+import org.example.repository.FlightRepository;
+import org.example.service.ConnectionSearchService;
+import org.example.util.ConnectionGraph;
+import org.example.util.TextNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class ConnectionSearchServiceImpl implements ConnectionSearchService {
+    static final int MAX_STOPS = 2;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Value("${flight.connection.min-connection-minutes:60}")
+    private long defaultMinConnectionMinutes;
+
+    @Value("${flight.connection.max-layover-hours:24}")
+    private long maxLayoverHours;
+
+    private final ConnectionGraph graph = new ConnectionGraph();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public List<Itinerary> findConnections(String departureCode, String arrivalCode, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                           Integer maxStops, Long minConnectionMinutes) {
+        int stops = maxStops == null ? MAX_STOPS : Math.max(0, Math.min(maxStops, MAX_STOPS));
+        long minConnection = TimeUnit.MINUTES.toMillis(minConnectionMinutes == null ? defaultMinConnectionMinutes : minConnectionMinutes);
+        List<int[]> routes;
+        lock.readLock().lock();
+        try {
+            int origin = graph.lookup(TextNormalizer.fold(departureCode).trim());
+            int destination = graph.lookup(TextNormalizer.fold(arrivalCode).trim());
+            if (origin < 0 || destination < 0 || origin == destination) {
+                return new ArrayList<>();
+            }
+            routes = graph.search(origin, destination, FlightScheduleServiceImpl.toEpoch(dateFrom),
+                    FlightScheduleServiceImpl.toEpoch(dateTo), stops + 1, minConnection, TimeUnit.HOURS.toMillis(maxLayoverHours));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Set<Integer> flightIds = new HashSet<>();
+        for (int[] route : routes) {
+            for (int flightId : route) {
+                flightIds.add(flightId);
+            }
+        }
+        Map<Integer, Flight> flights = new HashMap<>();
+        if (!flightIds.isEmpty()) {
+            for (Flight flight : flightRepository.findByIdIn(flightIds)) {
+                flights.put(flight.getId(), flight);
+            }
+        }
+        List<Itinerary> itineraries = new ArrayList<>();
+        for (int[] route : routes) {
+            List<Flight> legs = new ArrayList<>(route.length);
+            for (int flightId : route) {
+                Flight flight = flights.get(flightId);
+                if (flight != null) {
+                    legs.add(flight);
+                }
+            }
+            if (legs.size() == route.length) {
+                itineraries.add(new Itinerary(legs, legs.size() - 1, legs.get(0).getStartTime(),
+                        legs.get(legs.size() - 1).getEndTime()));
+            }
+        }
+        return itineraries;
+    }
+
+    @PostConstruct
+    @Override
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            graph.clear();
+            for (Object[] row : flightRepository.findConnectionRows()) {
+                put((Integer) row[0], (String) row[1], (String) row[2], (LocalDateTime) row[3], (LocalDateTime) row[4]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (flight.isDeleted() || flight.getStatus() == FlightStatus.CANCEL
+                    || flight.getStartTime() == null || flight.getEndTime() == null) {
+                graph.remove(flight.getId());
+            } else {
+                put(flight.getId(), flight.getDepartureCode(), flight.getArrivalCode(), flight.getStartTime(), flight.getEndTime());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(int flightId, String departureCode, String arrivalCode, LocalDateTime startTime, LocalDateTime endTime) {
+        int origin = graph.encode(TextNormalizer.fold(departureCode).trim());
+        int destination = graph.encode(TextNormalizer.fold(arrivalCode).trim());
+        graph.put(flightId, origin, destination, FlightScheduleServiceImpl.toEpoch(startTime),
+                FlightScheduleServiceImpl.toEpoch(endTime));
+    }
+}
@@ -0,0 +1,376 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.constant.FlightStatus;
+import org.example.constant.SeatType;
+import org.example.entity.Fare;
+import org.example.entity.Flight;
+import org.example.event.FareChangedEvent;
+import org.example.event.FlightChangedEvent;
+import org.example.event.SeatChangedEvent;
+import org.example.event.SeatClaimRevertedEvent;
+import org.example.event.SeatClaimedEvent;
+import org.example.event.SeatReleasedEvent;
+import org.example.payload.FareCalendarDay;
+import org.example.repository.FareRepository;
+import org.example.repository.FlightRepository;
+import org.example.service.FareCalendarService;
+import org.example.service.SeatInventoryService;
+import org.example.service.SeatLayoutService;
+import org.example.util.SeatLayout;
+import org.example.util.TextNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps a (route, day) matrix of the cheapest fare that still has seats, per seat type and over
+ * all types. Fare edits, flight moves and seat claims or releases only recompute the one cell
+ * of the flight involved, so reading a calendar is a map lookup per day. Seat claims and
+ * releases run on the booking thread, so they only bump atomic counters there; when a type sells
+ * out or frees up the flight is queued and its cell is recomputed on a background thread.
+ */
+@Service
+public class FareCalendarServiceImpl implements FareCalendarService {
+    private static final SeatType[] TYPES = SeatType.values();
+    private static final int ANY = TYPES.length;
+
+    @Autowired
+    FareRepository fareRepository;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    SeatLayoutService seatLayoutService;
+
+    @Autowired
+    SeatInventoryService seatInventoryService;
+
+    private final Map<Integer, FlightFares> flights = new ConcurrentHashMap<>();
+    private final Map<String, Map<LocalDate, Cell>> routes = new HashMap<>();
+    /** Seats per type across the fleet; seats carry no plane, so this is not per aircraft. */
+    private volatile int[] capacity = new int[TYPES.length];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Integer> dirtyFlights = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final ExecutorService recomputer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fare-calendar-recompute");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void stop() {
+        recomputer.shutdownNow();
+    }
+
+    @Override
+    public List<FareCalendarDay> getCalendar(String departureCode, String arrivalCode, SeatType seatType, LocalDate dateFrom, int days) {
+        int column = seatType == null ? ANY : seatType.ordinal();
+        List<FareCalendarDay> calendar = new ArrayList<>(days);
+        lock.readLock().lock();
+        try {
+            Map<LocalDate, Cell> cells = routes.getOrDefault(routeKey(departureCode, arrivalCode), Map.of());
+            for (int i = 0; i < days; i++) {
+                LocalDate date = dateFrom.plusDays(i);
+                Cell cell = cells.get(date);
+                if (cell == null || cell.minAmount[column] == null) {
+                    calendar.add(new FareCalendarDay(date, null, seatType, null));
+                } else {
+                    calendar.add(new FareCalendarDay(date, cell.minAmount[column], cell.minType[column], cell.minFlight[column]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return calendar;
+    }
+
+    @PostConstruct
+    @Override
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            flights.clear();
+            routes.clear();
+            SeatLayout layout = seatLayoutService.getLayout();
+            capacity = layout.countByType(TYPES.length);
+            for (Object[] row : fareRepository.findCalendarRows()) {
+                Integer flightId = (Integer) row[0];
+                FlightFares fares = flights.get(flightId);
+                if (fares == null) {
+                    fares = new FlightFares(flightId, routeKey((String) row[1], (String) row[2]),
+                            ((LocalDateTime) row[3]).toLocalDate(), bookedByType(layout, flightId));
+                    flights.put(flightId, fares);
+                }
+                fares.amounts[((SeatType) row[4]).ordinal()] = (BigDecimal) row[5];
+            }
+            for (FlightFares fares : flights.values()) {
+                cellOf(fares).flights.add(fares);
+            }
+            for (Map<LocalDate, Cell> cells : routes.values()) {
+                for (Cell cell : cells.values()) {
+                    recompute(cell);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads all live fares of the flight, so type changes and deletions need no bookkeeping.
+     * A fare moved to another flight refreshes the flight it left as well.
+     */
+    @EventListener
+    public void onFareChanged(FareChangedEvent event) {
+        Flight flight = event.getFare().getFlight();
+        if (flight != null && flight.getId() != null) {
+            if (flight.getDepartureCode() == null || flight.getStartTime() == null) {
+                flight = flightRepository.findById(String.valueOf(flight.getId())).orElse(null);
+            }
+            if (flight != null) {
+                refreshFares(flight);
+            }
+        }
+        if (event.getPreviousFlightId() != null) {
+            flightRepository.findById(String.valueOf(event.getPreviousFlightId())).ifPresent(this::refreshFares);
+        }
+    }
+
+    private void refreshFares(Flight flight) {
+        List<Fare> current = fareRepository.findByFlightIdAndIsDeletedFalse(flight.getId());
+        SeatLayout layout = seatLayoutService.getLayout();
+        lock.writeLock().lock();
+        try {
+            FlightFares fares = flights.get(flight.getId());
+            if (current.isEmpty()) {
+                if (fares != null) {
+                    detach(fares);
+                    flights.remove(fares.flightId);
+                }
+                return;
+            }
+            if (fares == null) {
+                fares = new FlightFares(flight.getId(), routeKey(flight.getDepartureCode(), flight.getArrivalCode()),
+                        flight.getStartTime().toLocalDate(), bookedByType(layout, flight.getId()));
+                fares.listed = isListed(flight);
+                flights.put(flight.getId(), fares);
+                if (fares.listed) {
+                    cellOf(fares).flights.add(fares);
+                }
+            }
+            Arrays.fill(fares.amounts, null);
+            for (Fare fare : current) {
+                fares.amounts[fare.getSeatType().ordinal()] = fare.getAmount();
+            }
+            if (fares.listed) {
+                recompute(cellOf(fares));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            FlightFares fares = flights.get(flight.getId());
+            if (fares == null) {
+                return;
+            }
+            detach(fares);
+            if (flight.isDeleted()) {
+                flights.remove(fares.flightId);
+                return;
+            }
+            fares.route = routeKey(flight.getDepartureCode(), flight.getArrivalCode());
+            fares.day = flight.getStartTime().toLocalDate();
+            fares.listed = isListed(flight);
+            if (fares.listed) {
+                Cell cell = cellOf(fares);
+                cell.flights.add(fares);
+                recompute(cell);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onSeatClaimed(SeatClaimedEvent event) {
+        updateBooked(event.getFlightId(), event.getSeatId(), 1);
+    }
+
+    @EventListener
+    public void onSeatReleased(SeatReleasedEvent event) {
+        updateBooked(event.getFlightId(), event.getSeatId(), -1);
+    }
+
+    @EventListener
+    public void onSeatClaimReverted(SeatClaimRevertedEvent event) {
+        updateBooked(event.getFlightId(), event.getSeatId(), -1);
+    }
+
+    @EventListener
+    public void onSeatChanged(SeatChangedEvent event) {
+        reload();
+    }
+
+    private void updateBooked(Integer flightId, Integer seatId, int delta) {
+        int type = seatLayoutService.getLayout().typeOf(seatId);
+        FlightFares fares = flights.get(flightId);
+        if (type < 0 || fares == null) {
+            return;
+        }
+        int booked = fares.booked.addAndGet(type, delta);
+        int seats = capacity[type];
+        if ((booked < seats) != (booked - delta < seats)) {
+            dirtyFlights.add(flightId);
+            if (drainQueued.compareAndSet(false, true)) {
+                recomputer.execute(this::recomputeDirty);
+            }
+        }
+    }
+
+    private void recomputeDirty() {
+        drainQueued.set(false);
+        lock.writeLock().lock();
+        try {
+            for (Iterator<Integer> iterator = dirtyFlights.iterator(); iterator.hasNext(); ) {
+                FlightFares fares = flights.get(iterator.next());
+                iterator.remove();
+                if (fares != null && fares.listed) {
+                    recompute(cellOf(fares));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void detach(FlightFares fares) {
+        Map<LocalDate, Cell> cells = routes.get(fares.route);
+        Cell cell = cells == null ? null : cells.get(fares.day);
+        if (cell == null || !cell.flights.remove(fares)) {
+            return;
+        }
+        if (cell.flights.isEmpty()) {
+            cells.remove(fares.day);
+            if (cells.isEmpty()) {
+                routes.remove(fares.route);
+            }
+        } else {
+            recompute(cell);
+        }
+    }
+
+    private Cell cellOf(FlightFares fares) {
+        return routes.computeIfAbsent(fares.route, key -> new HashMap<>()).computeIfAbsent(fares.day, key -> new Cell());
+    }
+
+    private void recompute(Cell cell) {
+        cell.reset();
+        for (FlightFares fares : cell.flights) {
+            for (int type = 0; type < TYPES.length; type++) {
+                if (fares.isAvailable(type, capacity)) {
+                    cell.offer(type, fares.amounts[type], fares.flightId);
+                    cell.offer(ANY, fares.amounts[type], fares.flightId, TYPES[type]);
+                }
+            }
+        }
+    }
+
+    private AtomicIntegerArray bookedByType(SeatLayout layout, Integer flightId) {
+        AtomicIntegerArray booked = new AtomicIntegerArray(TYPES.length);
+        for (int seatId : seatInventoryService.findBookedSeats(flightId)) {
+            int type = layout.typeOf(seatId);
+            if (type >= 0) {
+                booked.incrementAndGet(type);
+            }
+        }
+        return booked;
+    }
+
+    private static boolean isListed(Flight flight) {
+        return !flight.isDeleted() && flight.getStatus() != FlightStatus.CANCEL && flight.getStartTime() != null;
+    }
+
+    private static String routeKey(String departureCode, String arrivalCode) {
+        return TextNormalizer.fold(departureCode).trim() + "-" + TextNormalizer.fold(arrivalCode).trim();
+    }
+
+    private static class FlightFares {
+        final int flightId;
+        String route;
+        LocalDate day;
+        boolean listed = true;
+        final BigDecimal[] amounts = new BigDecimal[TYPES.length];
+        /** Updated on the booking thread without the calendar lock. */
+        final AtomicIntegerArray booked;
+
+        FlightFares(int flightId, String route, LocalDate day, AtomicIntegerArray booked) {
+            this.flightId = flightId;
+            this.route = route;
+            this.day = day;
+            this.booked = booked;
+        }
+
+        boolean isAvailable(int type, int[] capacity) {
+            return amounts[type] != null && booked.get(type) < capacity[type];
+        }
+    }
+
+    private static class Cell {
+        final Set<FlightFares> flights = new HashSet<>();
+        final BigDecimal[] minAmount = new BigDecimal[ANY + 1];
+        final Integer[] minFlight = new Integer[ANY + 1];
+        final SeatType[] minType = new SeatType[ANY + 1];
+
+        void reset() {
+            for (int column = 0; column <= ANY; column++) {
+                minAmount[column] = null;
+                minFlight[column] = null;
+                minType[column] = null;
+            }
+        }
+
+        void offer(int type, BigDecimal amount, int flightId) {
+            offer(type, amount, flightId, TYPES[type]);
+        }
+
+        void offer(int column, BigDecimal amount, int flightId, SeatType type) {
+            if (minAmount[column] == null || amount.compareTo(minAmount[column]) < 0) {
+                minAmount[column] = amount;
+                minFlight[column] = flightId;
+                minType[column] = type;
+            }
+        }
+    }
+}
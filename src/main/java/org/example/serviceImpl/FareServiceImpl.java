@@ -0,0 +1,56 @@
+package org.example.serviceImpl;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.entity.Fare;
+import org.example.event.FareChangedEvent;
+import org.example.repository.FareRepository;
+import org.example.repository.FlightRepository;
+import org.example.service.FareService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class FareServiceImpl implements FareService {
+    @Autowired
+    FareRepository fareRepository;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public List<Fare> findByFlightId(Integer flightId) {
+        return fareRepository.findByFlightIdAndIsDeletedFalse(flightId);
+    }
+
+    @Override
+    public Fare findById(Integer id) {
+        return fareRepository.findByIdAndIsDeletedFalse(id);
+    }
+
+    @Override
+    public Fare save(Fare fare) {
+        Integer flightId = fare.getFlight() == null ? null : fare.getFlight().getId();
+        if (flightId == null || flightRepository.findByIdAndIsDeletedFalse(flightId) == null) {
+            throw new EntityNotFoundException("Flight " + flightId + " not found");
+        }
+        Integer previousFlightId = fare.getId() == null ? null : fareRepository.findFlightIdById(fare.getId());
+        Fare savedFare = fareRepository.save(fare);
+        eventPublisher.publishEvent(new FareChangedEvent(savedFare,
+                flightId.equals(previousFlightId) ? null : previousFlightId));
+        return savedFare;
+    }
+
+    @Override
+    public void delete(Integer id) {
+        Fare fare = fareRepository.findByIdAndIsDeletedFalse(id);
+        fare.setDeleted(true);
+        fareRepository.save(fare);
+        eventPublisher.publishEvent(new FareChangedEvent(fare));
+    }
+}
@@ -0,0 +1,280 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import org.example.entity.BaseObject;
+import org.example.entity.Flight;
+import org.example.entity.Plane;
+import org.example.event.FlightChangedEvent;
+import org.example.event.FlightStatusChangedEvent;
+import org.example.event.PlaneChangedEvent;
+import org.example.repository.FlightRepository;
+import org.example.util.BoundedCache;
+import org.example.util.TextNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Result cache for the flight read queries. Search keys carry their predicate, so a write only
+ * drops the entries the flight matched before or after the change, plus any entry holding the
+ * flight itself. The predicates fold case and accents, which makes them match at least what
+ * the SQL matches; a write can evict a little too much but never too little.
+ * <p>
+ * Concurrent misses on the same key share one load. The generation is read inside that shared
+ * load, just before the query. A load that overlaps a write is therefore never stored, even
+ * when a request joins it after the write.
+ * <p>
+ * Cached flights are never handed out: every caller gets its own copy of the flights and their
+ * planes, so one caller changing or attaching a flight cannot leak into the cache or into
+ * another caller's result.
+ */
+@Component
+public class FlightQueryCache {
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    RequestCoalescer requestCoalescer;
+
+    @Value("${flight.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${flight.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private BoundedCache<Object, Object> cache;
+    /** Searchable state of every live flight, needed to know which queries a flight used to match. */
+    private final Map<Integer, FlightView> views = new HashMap<>();
+
+    @PostConstruct
+    public synchronized void reload() {
+        cache = new BoundedCache<>(maxEntries, ttlSeconds * 1000);
+        views.clear();
+        for (Object[] row : flightRepository.findSearchRows()) {
+            views.put((Integer) row[0], new FlightView((String) row[1], (String) row[2], (String) row[3],
+                    (String) row[4], (String) row[5], (LocalDateTime) row[6]));
+        }
+    }
+
+    public Flight findById(Integer id, Supplier<Flight> loader) {
+        return load(new ById(id), loader);
+    }
+
+    public List<Flight> findAll(Pageable pageable, Supplier<List<Flight>> loader) {
+        return load(new AllPage(PageKey.of(pageable)), loader);
+    }
+
+    public List<Flight> findByConditions(String flightName, LocalDateTime dateFrom, LocalDateTime dateTo, String departure,
+                                         String arrival, Pageable pageable, Supplier<List<Flight>> loader) {
+        return load(new Conditions(TextNormalizer.fold(flightName), dateFrom, dateTo, TextNormalizer.fold(departure),
+                TextNormalizer.fold(arrival), PageKey.of(pageable)), loader);
+    }
+
+    public List<Flight> searchFlights(String searchTerm, LocalDateTime dateFrom, LocalDateTime dateTo, String departure,
+                                      String arrival, Pageable pageable, Supplier<List<Flight>> loader) {
+        return load(new Search(TextNormalizer.fold(searchTerm), dateFrom, dateTo, TextNormalizer.fold(departure),
+                TextNormalizer.fold(arrival), PageKey.of(pageable)), loader);
+    }
+
+    public BoundedCache.Stats stats() {
+        return cache.stats();
+    }
+
+    @EventListener
+    @SuppressWarnings("unchecked")
+    public synchronized void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight.getId() == null) {
+            return;
+        }
+        Integer id = flight.getId();
+        FlightView before = views.get(id);
+        FlightView after = flight.isDeleted() ? null : new FlightView(flight.getName(), flight.getDepartureCode(),
+                flight.getArrivalCode(), flight.getDeparture(), flight.getArrival(), flight.getStartTime());
+        if (after == null) {
+            views.remove(id);
+        } else {
+            views.put(id, after);
+        }
+        boolean membershipChanged = before == null || after == null;
+        cache.invalidateIf((key, value) -> {
+            if (key instanceof ById byId) {
+                return byId.id.equals(id);
+            }
+            if (key instanceof AllPage) {
+                return membershipChanged || contains(value, Set.of(id));
+            }
+            Predicate<FlightView> query = (Predicate<FlightView>) key;
+            return (before != null && query.test(before)) || (after != null && query.test(after)) || contains(value, Set.of(id));
+        });
+    }
+
+    @EventListener
+    public synchronized void onFlightStatusChanged(FlightStatusChangedEvent event) {
+        Set<Integer> ids = new HashSet<>(event.getFlightIds());
+        cache.invalidateIf((key, value) -> key instanceof ById byId ? ids.contains(byId.id) : contains(value, ids));
+    }
+
+    @EventListener
+    public synchronized void onPlaneChanged(PlaneChangedEvent event) {
+        Integer planeId = event.getPlane().getId();
+        cache.invalidateIf((key, value) -> {
+            if (value instanceof Flight flight) {
+                return flight.getPlane() != null && Objects.equals(flight.getPlane().getId(), planeId);
+            }
+            for (Object item : (List<?>) value) {
+                Flight flight = (Flight) item;
+                if (flight.getPlane() != null && Objects.equals(flight.getPlane().getId(), planeId)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(Object key, Supplier<T> loader) {
+        BoundedCache<Object, Object> current = cache;
+        Object cached = current.get(key);
+        if (cached == null) {
+            cached = requestCoalescer.execute(() -> {
+                long generation = current.generation();
+                T value = loader.get();
+                if (value != null) {
+                    current.putIfCurrent(key, value, generation);
+                }
+                return value;
+            }, "flight.cache", key);
+        }
+        return (T) copyOf(cached);
+    }
+
+    private static Object copyOf(Object value) {
+        if (value instanceof Flight flight) {
+            return copyOf(flight);
+        }
+        if (value instanceof List<?> list) {
+            List<Flight> copies = new ArrayList<>(list.size());
+            for (Object item : list) {
+                copies.add(copyOf((Flight) item));
+            }
+            return copies;
+        }
+        return value;
+    }
+
+    private static Flight copyOf(Flight flight) {
+        Flight copy = Flight.builder()
+                .name(flight.getName())
+                .plane(copyOf(flight.getPlane()))
+                .startTime(flight.getStartTime())
+                .endTime(flight.getEndTime())
+                .status(flight.getStatus())
+                .departure(flight.getDeparture())
+                .departureCode(flight.getDepartureCode())
+                .arrival(flight.getArrival())
+                .arrivalCode(flight.getArrivalCode())
+                .gate(flight.getGate())
+                .build();
+        copyBase(flight, copy);
+        return copy;
+    }
+
+    private static Plane copyOf(Plane plane) {
+        if (plane == null) {
+            return null;
+        }
+        Plane copy = Plane.builder()
+                .name(plane.getName())
+                .producer(plane.getProducer())
+                .diagramLink(plane.getDiagramLink())
+                .summary(plane.getSummary())
+                .build();
+        copyBase(plane, copy);
+        return copy;
+    }
+
+    private static void copyBase(BaseObject from, BaseObject to) {
+        to.setId(from.getId());
+        to.setCreateBy(from.getCreateBy());
+        to.setCreateDate(from.getCreateDate() == null ? null : new Date(from.getCreateDate().getTime()));
+        to.setUpdateBy(from.getUpdateBy());
+        to.setUpdateDate(from.getUpdateDate() == null ? null : new Date(from.getUpdateDate().getTime()));
+        to.setDeleted(from.isDeleted());
+        to.setVersion(from.getVersion());
+    }
+
+    private static boolean contains(Object value, Set<Integer> ids) {
+        if (value instanceof Flight flight) {
+            return ids.contains(flight.getId());
+        }
+        for (Object item : (List<?>) value) {
+            if (ids.contains(((Flight) item).getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean between(LocalDateTime time, LocalDateTime from, LocalDateTime to) {
+        return time != null && (from == null || !time.isBefore(from)) && (to == null || !time.isAfter(to));
+    }
+
+    private record FlightView(String name, String departureCode, String arrivalCode, String departure, String arrival,
+                              LocalDateTime startTime) {
+        FlightView {
+            name = TextNormalizer.fold(name);
+            departureCode = TextNormalizer.fold(departureCode);
+            arrivalCode = TextNormalizer.fold(arrivalCode);
+            departure = TextNormalizer.fold(departure);
+            arrival = TextNormalizer.fold(arrival);
+        }
+    }
+
+    private record PageKey(int page, int size, String sort) {
+        static PageKey of(Pageable pageable) {
+            return pageable.isPaged()
+                    ? new PageKey(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString())
+                    : new PageKey(-1, -1, pageable.getSort().toString());
+        }
+    }
+
+    private record ById(Integer id) {
+    }
+
+    private record AllPage(PageKey page) {
+    }
+
+    private record Conditions(String name, LocalDateTime from, LocalDateTime to, String departure, String arrival,
+                              PageKey page) implements Predicate<FlightView> {
+        @Override
+        public boolean test(FlightView flight) {
+            return flight.name.contains(name) && between(flight.startTime, from, to)
+                    && flight.departure.contains(departure) && flight.arrival.contains(arrival);
+        }
+    }
+
+    private record Search(String term, LocalDateTime from, LocalDateTime to, String departure, String arrival,
+                          PageKey page) implements Predicate<FlightView> {
+        @Override
+        public boolean test(FlightView flight) {
+            return (flight.name.contains(term) || flight.departureCode.contains(term) || flight.arrivalCode.contains(term))
+                    && between(flight.startTime, from, to)
+                    && flight.departure.contains(departure) && flight.arrival.contains(arrival);
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.constant.FlightStatus;
+import org.example.entity.Flight;
+import org.example.event.FlightChangedEvent;
+import org.example.exception.ScheduleConflictException;
+import org.example.payload.TimeSlot;
+import org.example.repository.FlightRepository;
+import org.example.service.FlightScheduleService;
+import org.example.util.IntervalIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+@Service
+public class FlightScheduleServiceImpl implements FlightScheduleService {
+    private static final Logger logger = LoggerFactory.getLogger(FlightScheduleServiceImpl.class);
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Value("${flight.schedule.conflict-mode:reject}")
+    private String conflictMode;
+
+    @Value("${flight.schedule.min-turnaround-minutes:45}")
+    private long defaultTurnaroundMinutes;
+
+    private final IntervalIndex<Integer> planes = new IntervalIndex<>();
+    private final IntervalIndex<String> gates = new IntervalIndex<>();
+    private final Map<Integer, Slot> slots = new HashMap<>();
+    private final AtomicInteger placeholderIds = new AtomicInteger();
+
+    @PostConstruct
+    @Override
+    public synchronized void reload() {
+        for (Slot slot : new ArrayList<>(slots.values())) {
+            unindex(slot);
+        }
+        for (Object[] row : flightRepository.findScheduleRows()) {
+            index(new Slot((Integer) row[0], (Integer) row[1], (String) row[2],
+                    toEpoch((LocalDateTime) row[3]), toEpoch((LocalDateTime) row[4])));
+        }
+    }
+
+    @Override
+    public Flight save(Flight flight, UnaryOperator<Flight> writer) {
+        Slot reservation = slotOf(flight, flight.getId() == null ? placeholderIds.decrementAndGet() : flight.getId());
+        Slot previous = null;
+        if (reservation != null) {
+            synchronized (this) {
+                handleConflicts(flight.getName(), findConflicts(reservation, Set.of()));
+                previous = reserve(reservation);
+            }
+        }
+        Flight savedFlight;
+        try {
+            savedFlight = writer.apply(flight);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                cancel(reservation, previous);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            confirm(reservation, savedFlight);
+        }
+        return savedFlight;
+    }
+
+    @Override
+    public List<Flight> saveAll(List<Flight> flights, UnaryOperator<List<Flight>> writer) {
+        List<Slot> reservations = new ArrayList<>();
+        Map<Integer, Slot> replaced = new HashMap<>();
+        synchronized (this) {
+            Map<Integer, Integer> rows = new HashMap<>();
+            Set<Integer> seen = new HashSet<>();
+            try {
+                for (int i = 0; i < flights.size(); i++) {
+                    Flight flight = flights.get(i);
+                    Slot reservation = slotOf(flight, flight.getId() == null ? placeholderIds.decrementAndGet() : flight.getId());
+                    if (reservation == null) {
+                        continue;
+                    }
+                    if (flight.getId() == null) {
+                        rows.put(reservation.flightId, -(i + 1));
+                    }
+                    List<Integer> conflicts = findConflicts(reservation, Set.of());
+                    conflicts.replaceAll(id -> rows.getOrDefault(id, id));
+                    handleConflicts(flight.getName(), conflicts);
+                    boolean firstInBatch = seen.add(reservation.flightId);
+                    Slot previous = reserve(reservation);
+                    if (previous != null && firstInBatch) {
+                        replaced.put(reservation.flightId, previous);
+                    }
+                    reservations.add(reservation);
+                }
+            } catch (RuntimeException e) {
+                cancelAll(reservations, replaced);
+                throw e;
+            }
+        }
+        List<Flight> savedFlights;
+        try {
+            savedFlights = writer.apply(flights);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                cancelAll(reservations, replaced);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            Set<Slot> batch = Collections.newSetFromMap(new IdentityHashMap<>());
+            batch.addAll(reservations);
+            Set<Integer> superseded = new HashSet<>();
+            for (Slot reservation : reservations) {
+                Slot current = slots.get(reservation.flightId);
+                if (current == reservation) {
+                    unindex(reservation);
+                } else if (current != null && !batch.contains(current)) {
+                    superseded.add(reservation.flightId);
+                }
+            }
+            for (Flight savedFlight : savedFlights) {
+                if (!superseded.contains(savedFlight.getId())) {
+                    confirm(null, savedFlight);
+                }
+            }
+        }
+        return savedFlights;
+    }
+
+    @Override
+    public synchronized void remove(Integer flightId) {
+        Slot slot = slots.get(flightId);
+        if (slot != null) {
+            unindex(slot);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<Flight> propagateDelay(Integer flightId, long delayMinutes, Long minTurnaroundMinutes) {
+        if (delayMinutes <= 0) {
+            throw new IllegalArgumentException("delayMinutes must be positive");
+        }
+        long delay = TimeUnit.MINUTES.toMillis(delayMinutes);
+        long turnaround = TimeUnit.MINUTES.toMillis(minTurnaroundMinutes == null ? defaultTurnaroundMinutes : minTurnaroundMinutes);
+
+        Map<Integer, Slot> shifted = new LinkedHashMap<>();
+        Map<Integer, Slot> replaced = new HashMap<>();
+        synchronized (this) {
+            Slot delayed = slots.get(flightId);
+            if (delayed == null) {
+                throw new EntityNotFoundException("Flight " + flightId + " is not scheduled");
+            }
+            Slot previous = delayed.shift(delay);
+            shifted.put(flightId, previous);
+            if (delayed.planeId != null) {
+                for (IntervalIndex.Interval next : planes.startingFrom(delayed.planeId, delayed.start)) {
+                    if (next.id() == flightId) {
+                        continue;
+                    }
+                    long earliestStart = previous.end + turnaround;
+                    if (next.start() >= earliestStart) {
+                        break;
+                    }
+                    if (next.id() < 0) {
+                        // a new flight that is still being written cannot be moved yet
+                        throw new ScheduleConflictException(List.of(next.id()));
+                    }
+                    previous = slots.get(next.id()).shift(earliestStart - next.start());
+                    shifted.put(next.id(), previous);
+                }
+            }
+            for (Slot slot : shifted.values()) {
+                handleConflicts(slot.flightId, findConflicts(slot, shifted.keySet()));
+            }
+            for (Slot slot : shifted.values()) {
+                replaced.put(slot.flightId, reserve(slot));
+            }
+        }
+
+        // The shifted slots stay reserved until the transaction ends; listeners only hear about
+        // the new times once they are committed.
+        List<Flight> savedFlights = new ArrayList<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    synchronized (FlightScheduleServiceImpl.this) {
+                        for (Slot slot : shifted.values()) {
+                            cancel(slot, replaced.get(slot.flightId));
+                        }
+                    }
+                    return;
+                }
+                for (Flight flight : savedFlights) {
+                    eventPublisher.publishEvent(new FlightChangedEvent(flight));
+                }
+            }
+        });
+
+        List<Flight> flights = flightRepository.findByIdIn(shifted.keySet());
+        for (Flight flight : flights) {
+            Slot slot = shifted.get(flight.getId());
+            flight.setStartTime(toDateTime(slot.start));
+            flight.setEndTime(toDateTime(slot.end));
+            flight.setStatus(FlightStatus.DELAY);
+        }
+        savedFlights.addAll(flightRepository.saveAllAndFlush(flights));
+        return savedFlights;
+    }
+
+    @Override
+    public synchronized List<TimeSlot> findFreeSlots(Integer planeId, String gate, LocalDateTime from, LocalDateTime to) {
+        List<long[]> free = planeId != null
+                ? planes.freeSlots(planeId, toEpoch(from), toEpoch(to))
+                : gates.freeSlots(gate, toEpoch(from), toEpoch(to));
+        if (planeId != null && gate != null) {
+            free = intersect(free, gates.freeSlots(gate, toEpoch(from), toEpoch(to)));
+        }
+        List<TimeSlot> result = new ArrayList<>(free.size());
+        for (long[] slot : free) {
+            result.add(new TimeSlot(toDateTime(slot[0]), toDateTime(slot[1])));
+        }
+        return result;
+    }
+
+    private void handleConflicts(Object flight, List<Integer> conflicts) {
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        if ("reject".equalsIgnoreCase(conflictMode)) {
+            throw new ScheduleConflictException(conflicts);
+        }
+        logger.warn("Flight {} overlaps flights {} on the same plane or gate", flight, conflicts);
+    }
+
+    private List<Integer> findConflicts(Slot slot, Set<Integer> ignored) {
+        TreeSet<Integer> conflicts = new TreeSet<>();
+        if (slot.planeId != null) {
+            for (IntervalIndex.Interval interval : planes.overlapping(slot.planeId, slot.start, slot.end)) {
+                conflicts.add(interval.id());
+            }
+        }
+        if (slot.gate != null) {
+            for (IntervalIndex.Interval interval : gates.overlapping(slot.gate, slot.start, slot.end)) {
+                conflicts.add(interval.id());
+            }
+        }
+        conflicts.remove(slot.flightId);
+        conflicts.removeAll(ignored);
+        return new ArrayList<>(conflicts);
+    }
+
+    /** Indexes the slot in place of the flight's current one and returns the slot it replaced. */
+    private Slot reserve(Slot slot) {
+        Slot previous = slots.get(slot.flightId);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(slot);
+        return previous;
+    }
+
+    /**
+     * Swaps a reservation for the slot the flight was actually saved with. A reservation that a
+     * later save of the same flight has already replaced is left to that save.
+     */
+    private void confirm(Slot reservation, Flight savedFlight) {
+        Slot current = slots.get(reservation == null ? savedFlight.getId() : reservation.flightId);
+        if (reservation != null && current != reservation) {
+            return;
+        }
+        if (current != null) {
+            unindex(current);
+        }
+        Slot saved = slotOf(savedFlight, savedFlight.getId());
+        if (saved != null) {
+            index(saved);
+        }
+    }
+
+    private void cancelAll(List<Slot> reservations, Map<Integer, Slot> replaced) {
+        for (int i = reservations.size() - 1; i >= 0; i--) {
+            Slot reservation = reservations.get(i);
+            if (slots.get(reservation.flightId) == reservation) {
+                unindex(reservation);
+            }
+        }
+        for (Slot previous : replaced.values()) {
+            if (!slots.containsKey(previous.flightId)) {
+                index(previous);
+            }
+        }
+    }
+
+    private void cancel(Slot reservation, Slot previous) {
+        if (reservation == null || slots.get(reservation.flightId) != reservation) {
+            return;
+        }
+        unindex(reservation);
+        if (previous != null) {
+            index(previous);
+        }
+    }
+
+    private void index(Slot slot) {
+        slots.put(slot.flightId, slot);
+        if (slot.planeId != null) {
+            planes.add(slot.planeId, slot.flightId, slot.start, slot.end);
+        }
+        if (slot.gate != null) {
+            gates.add(slot.gate, slot.flightId, slot.start, slot.end);
+        }
+    }
+
+    private void unindex(Slot slot) {
+        slots.remove(slot.flightId);
+        if (slot.planeId != null) {
+            planes.remove(slot.planeId, slot.flightId);
+        }
+        if (slot.gate != null) {
+            gates.remove(slot.gate, slot.flightId);
+        }
+    }
+
+    /** Returns the slot a flight occupies, or null when it does not block its plane or gate. */
+    private static Slot slotOf(Flight flight, int flightId) {
+        if (flight.isDeleted() || flight.getStatus() == FlightStatus.CANCEL
+                || flight.getStartTime() == null || flight.getEndTime() == null) {
+            return null;
+        }
+        Integer planeId = flight.getPlane() == null ? null : flight.getPlane().getId();
+        return new Slot(flightId, planeId, flight.getGate(), toEpoch(flight.getStartTime()), toEpoch(flight.getEndTime()));
+    }
+
+    private static List<long[]> intersect(List<long[]> a, List<long[]> b) {
+        List<long[]> result = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            long start = Math.max(a.get(i)[0], b.get(j)[0]);
+            long end = Math.min(a.get(i)[1], b.get(j)[1]);
+            if (start < end) {
+                result.add(new long[]{start, end});
+            }
+            if (a.get(i)[1] < b.get(j)[1]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+
+    static long toEpoch(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+    }
+
+    static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                (int) Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private record Slot(int flightId, Integer planeId, String gate, long start, long end) {
+        Slot shift(long millis) {
+            return new Slot(flightId, planeId, gate, start + millis, end + millis);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import org.example.entity.Flight;
+import org.example.event.FlightChangedEvent;
+import org.example.repository.FlightRepository;
+import org.example.service.FlightSearchIndexService;
+import org.example.util.TrigramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class FlightSearchIndexServiceImpl implements FlightSearchIndexService {
+    @Autowired
+    FlightRepository flightRepository;
+
+    private final TrigramIndex terms = new TrigramIndex();
+    private final TrigramIndex departures = new TrigramIndex();
+    private final TrigramIndex arrivals = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public int[] findCandidates(String searchTerm, String departure, String arrival) {
+        lock.readLock().lock();
+        try {
+            int[] candidates = terms.candidates(searchTerm);
+            if (candidates != null && candidates.length == 0) {
+                return candidates;
+            }
+            candidates = TrigramIndex.intersect(candidates, departures.candidates(departure));
+            if (candidates != null && candidates.length == 0) {
+                return candidates;
+            }
+            return TrigramIndex.intersect(candidates, arrivals.candidates(arrival));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PostConstruct
+    @Override
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            departures.clear();
+            arrivals.clear();
+            for (Object[] row : flightRepository.findSearchRows()) {
+                int id = (Integer) row[0];
+                terms.put(id, (String) row[1], (String) row[2], (String) row[3]);
+                departures.put(id, (String) row[4]);
+                arrivals.put(id, (String) row[5]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (flight.isDeleted()) {
+                terms.remove(flight.getId());
+                departures.remove(flight.getId());
+                arrivals.remove(flight.getId());
+            } else {
+                terms.put(flight.getId(), flight.getName(), flight.getDepartureCode(), flight.getArrivalCode());
+                departures.put(flight.getId(), flight.getDeparture());
+                arrivals.put(flight.getId(), flight.getArrival());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
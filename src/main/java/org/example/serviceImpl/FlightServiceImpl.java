@@ -1,45 +1,175 @@
 package org.example.serviceImpl;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.example.constant.FlightStatus;
 import org.example.entity.Flight;
+import org.example.event.FlightChangedEvent;
+import org.example.payload.ChangeSet;
+import org.example.payload.CursorPage;
+import org.example.payload.FlightDetail;
+import org.example.payload.FlightSummary;
 import org.example.repository.FlightRepository;
+import org.example.service.FlightScheduleService;
+import org.example.service.FlightSearchIndexService;
 import org.example.service.FlightService;
+import org.example.service.ScheduleIndexService;
+import org.example.util.KeysetCursor;
+import org.example.util.TrigramIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class FlightServiceImpl implements FlightService {
+    private static final int STREAM_CLEAR_EVERY = 500;
+
     @Autowired
     FlightRepository flightRepository;
 
+    @Value("${sync.changes.safety-lag-millis:5000}")
+    private long changesSafetyLagMillis;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    FlightScheduleService flightScheduleService;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    BulkWriter bulkWriter;
+
+    @Autowired
+    FlightSearchIndexService flightSearchIndexService;
+
+    @Autowired
+    ScheduleIndexService scheduleIndexService;
+
+    @Autowired
+    FlightQueryCache flightQueryCache;
+
+    @Autowired
+    RequestCoalescer requestCoalescer;
+
+    @Value("${flight.search.max-candidates:10000}")
+    private int maxCandidates;
+
     @Override
     public List<Flight> findByConditions(String flightName, LocalDateTime dateFrom, LocalDateTime dateTo, String departure, String arrival, Pageable pageable) {
-        return flightRepository.findByIsDeletedFalseAndNameContainsAndStartTimeBetweenAndDepartureContainsAndArrivalContains
-                (flightName, dateFrom, dateTo, departure, arrival, pageable);
+        return flightQueryCache.findByConditions(flightName, dateFrom, dateTo, departure, arrival, pageable,
+                () -> queryByConditions(flightName, dateFrom, dateTo, departure, arrival, pageable));
+    }
+
+    private List<Flight> queryByConditions(String flightName, LocalDateTime dateFrom, LocalDateTime dateTo, String departure, String arrival, Pageable pageable) {
+        int[] candidates = scheduleIndexService.findCandidates(departure, arrival, dateFrom, dateTo);
+        if (candidates == null || candidates.length > maxCandidates) {
+            return flightRepository.findByIsDeletedFalseAndNameContainsAndStartTimeBetweenAndDepartureContainsAndArrivalContains
+                    (flightName, dateFrom, dateTo, departure, arrival, pageable);
+        }
+        if (candidates.length == 0) {
+            return Collections.emptyList();
+        }
+        return flightRepository.findByIdInAndIsDeletedFalseAndNameContainsAndStartTimeBetweenAndDepartureContainsAndArrivalContains
+                (toIds(candidates), flightName, dateFrom, dateTo, departure, arrival, pageable);
     }
 
     @Override
     public List<Flight> searchFlights(String searchTerm, LocalDateTime dateFrom, LocalDateTime dateTo, String departure, String arrival, Pageable pageable) {
-        return flightRepository.searchFlights(searchTerm, dateFrom, dateTo, departure, arrival, pageable);
+        return flightQueryCache.searchFlights(searchTerm, dateFrom, dateTo, departure, arrival, pageable,
+                () -> querySearchFlights(searchTerm, dateFrom, dateTo, departure, arrival, pageable));
+    }
+
+    private List<Flight> querySearchFlights(String searchTerm, LocalDateTime dateFrom, LocalDateTime dateTo, String departure, String arrival, Pageable pageable) {
+        int[] candidates = TrigramIndex.intersect(flightSearchIndexService.findCandidates(searchTerm, departure, arrival),
+                scheduleIndexService.findCandidates(departure, arrival, dateFrom, dateTo));
+        if (candidates == null || candidates.length > maxCandidates) {
+            return flightRepository.searchFlights(searchTerm, dateFrom, dateTo, departure, arrival, pageable);
+        }
+        if (candidates.length == 0) {
+            return Collections.emptyList();
+        }
+        return flightRepository.searchFlightsIn(toIds(candidates), searchTerm, dateFrom, dateTo, departure, arrival, pageable);
     }
 
     @Override
     public List<Flight> findAll(Pageable pageable) {
-        return flightRepository.findByIsDeletedFalse(pageable);
+        return flightQueryCache.findAll(pageable, () -> flightRepository.findByIsDeletedFalse(pageable));
+    }
+
+    @Override
+    public CursorPage<Flight> findPage(String cursor, int pageSize) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Flight> rows = after == null
+                ? flightRepository.findFirstKeysetPage(limit)
+                : flightRepository.findKeysetPageAfter(after.toLocalDateTime(), after.getId(), limit);
+        return KeysetCursor.page(rows, pageSize, row -> KeysetCursor.of(row.getStartTime(), row.getId()));
+    }
+
+    @Override
+    public ChangeSet<Flight> findChanges(String since, int limit) {
+        KeysetCursor after = KeysetCursor.decode(since);
+        limit = Math.min(limit, KeysetCursor.MAX_CHANGES);
+        // rows stamped just now may still be in uncommitted transactions; see ChangeSet for the limits of this
+        Date upTo = new Date(System.currentTimeMillis() - changesSafetyLagMillis);
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<Flight> rows = after == null
+                ? flightRepository.findFirstChanges(upTo, page)
+                : flightRepository.findChangesAfter(after.toDate(), after.getId(), upTo, page);
+        return KeysetCursor.changes(rows, limit, since, row -> KeysetCursor.of(row.getUpdateDate(), row.getId()));
+    }
+
+    @Override
+    public List<FlightSummary> findSummaries(Pageable pageable) {
+        return requestCoalescer.execute(() -> flightRepository.findSummaries(pageable), "flight.findSummaries", pageable);
+    }
+
+    @Override
+    public FlightDetail findDetail(Integer id) {
+        return requestCoalescer.execute(() -> flightRepository.findDetail(id), "flight.findDetail", id);
     }
 
     @Override
     public Flight findById(Integer id) {
-        return flightRepository.findByIdAndIsDeletedFalse(id);
+        return flightQueryCache.findById(id, () -> flightRepository.findByIdAndIsDeletedFalse(id));
     }
 
     @Override
     public Flight save(Flight flight) {
-        return flightRepository.save(flight);
+        Flight savedFlight = flightScheduleService.save(flight, flightRepository::save);
+        eventPublisher.publishEvent(new FlightChangedEvent(savedFlight));
+        return savedFlight;
+    }
+
+    @Override
+    public List<Flight> saveAll(List<Flight> flights) {
+        List<Flight> savedFlights = new ArrayList<>(flights.size());
+        for (List<Flight> chunk : bulkWriter.chunks(flights)) {
+            List<Flight> savedChunk = flightScheduleService.saveAll(chunk,
+                    rows -> bulkWriter.write(rows, flightRepository, flightRepository::findByIdIn));
+            for (Flight savedFlight : savedChunk) {
+                eventPublisher.publishEvent(new FlightChangedEvent(savedFlight));
+            }
+            savedFlights.addAll(savedChunk);
+        }
+        return savedFlights;
     }
 
     @Override
@@ -47,10 +177,26 @@ public class FlightServiceImpl implements FlightService {
         Flight flight = flightRepository.findByIdAndIsDeletedFalse(id);
         flight.setDeleted(true);
         flightRepository.save(flight);
+        flightScheduleService.remove(id);
+        eventPublisher.publishEvent(new FlightChangedEvent(flight));
     }
 
     @Override
-    public List<Flight> findByStatus(FlightStatus statusEnum) {
-        return flightRepository.findByStatusAndIsDeletedFalse(statusEnum);
+    @Transactional(readOnly = true)
+    public void streamByStatus(FlightStatus statusEnum, Consumer<Flight> consumer) {
+        try (Stream<Flight> rows = flightRepository.streamByStatus(statusEnum)) {
+            Iterator<Flight> it = rows.iterator();
+            for (int n = 1; it.hasNext(); n++) {
+                consumer.accept(it.next());
+                // rows and their fetched associations are done with once written out
+                if (n % STREAM_CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private static List<Integer> toIds(int[] candidates) {
+        return Arrays.stream(candidates).boxed().toList();
     }
 }
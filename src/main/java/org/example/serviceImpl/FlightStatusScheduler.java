@@ -0,0 +1,180 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.constant.FlightStatus;
+import org.example.entity.Flight;
+import org.example.event.FlightChangedEvent;
+import org.example.event.FlightStatusChangedEvent;
+import org.example.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes flights once they depart. Departures are kept in a min-heap keyed on start time and a
+ * single timer is armed for the earliest one; when it fires, every due flight is closed with one
+ * bulk UPDATE. Heap entries are never updated in place: the current departure of each flight is
+ * kept in a map, entries that no longer match it are skipped when they reach the head, and the
+ * heap is rebuilt from the map once superseded entries outnumber live ones. Start times are wall
+ * clock times in {@code flight.status.zone}, the system zone by default. A chunk that fails to
+ * close is queued again with everything after it, behind an exponential backoff.
+ */
+@Component
+public class FlightStatusScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(FlightStatusScheduler.class);
+    private static final Set<FlightStatus> DEPARTING = EnumSet.of(FlightStatus.OPEN, FlightStatus.DELAY);
+    private static final int CHUNK_SIZE = 1000;
+    private static final long MIN_RETRY_MILLIS = 1000;
+    private static final long MAX_RETRY_MILLIS = 60_000;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Value("${flight.status.zone:}")
+    private String zoneName;
+
+    private ZoneId zone;
+    private final PriorityQueue<Departure> departures = new PriorityQueue<>();
+    private final Map<Integer, Long> scheduled = new HashMap<>();
+    private ScheduledExecutorService timer;
+    private ScheduledFuture<?> armed;
+    private long armedAt = Long.MAX_VALUE;
+    private int failedAttempts;
+
+    @PostConstruct
+    public void start() {
+        zone = zoneName == null || zoneName.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zoneName);
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flight-status-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reload();
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+    }
+
+    public synchronized void reload() {
+        departures.clear();
+        scheduled.clear();
+        for (Object[] row : flightRepository.findDepartureRows(DEPARTING)) {
+            schedule((Integer) row[0], toEpoch((LocalDateTime) row[1]));
+        }
+        rearm();
+    }
+
+    @EventListener
+    public synchronized void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (!flight.isDeleted() && DEPARTING.contains(flight.getStatus()) && flight.getStartTime() != null) {
+            schedule(flight.getId(), toEpoch(flight.getStartTime()));
+            rearm();
+        } else {
+            scheduled.remove(flight.getId());
+        }
+    }
+
+    private void schedule(int flightId, long epochMillis) {
+        Long previous = scheduled.put(flightId, epochMillis);
+        if (previous == null || previous != epochMillis) {
+            departures.add(new Departure(epochMillis, flightId));
+        }
+        if (departures.size() > 2 * scheduled.size() + CHUNK_SIZE) {
+            departures.clear();
+            scheduled.forEach((id, at) -> departures.add(new Departure(at, id)));
+        }
+    }
+
+    private void fire() {
+        List<Integer> due = new ArrayList<>();
+        synchronized (this) {
+            armed = null;
+            armedAt = Long.MAX_VALUE;
+            long now = System.currentTimeMillis();
+            while (!departures.isEmpty() && departures.peek().epochMillis <= now) {
+                Departure departure = departures.poll();
+                if (scheduled.remove(departure.flightId, departure.epochMillis)) {
+                    due.add(departure.flightId);
+                }
+            }
+        }
+        int from = 0;
+        try {
+            for (; from < due.size(); from += CHUNK_SIZE) {
+                List<Integer> chunk = due.subList(from, Math.min(from + CHUNK_SIZE, due.size()));
+                int closed = flightRepository.closeDeparted(chunk, DEPARTING, FlightStatus.CLOSED,
+                        LocalDateTime.now(zone), new Date());
+                if (closed > 0) {
+                    eventPublisher.publishEvent(new FlightStatusChangedEvent(new ArrayList<>(chunk), FlightStatus.CLOSED));
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                long backoff = Math.min(MAX_RETRY_MILLIS, MIN_RETRY_MILLIS << Math.min(failedAttempts++, 16));
+                long retryAt = System.currentTimeMillis() + backoff;
+                for (Integer flightId : due.subList(from, due.size())) {
+                    // a flight rescheduled while the chunk was closing keeps its new departure
+                    if (scheduled.putIfAbsent(flightId, retryAt) == null) {
+                        departures.add(new Departure(retryAt, flightId));
+                    }
+                }
+                logger.error("Cannot close {} departed flights, retrying in {} ms", due.size() - from, backoff, e);
+                rearm();
+            }
+            return;
+        }
+        synchronized (this) {
+            failedAttempts = 0;
+            rearm();
+        }
+    }
+
+    private void rearm() {
+        Departure next = departures.peek();
+        if (next == null || next.epochMillis >= armedAt) {
+            return;
+        }
+        if (armed != null) {
+            armed.cancel(false);
+        }
+        armedAt = next.epochMillis;
+        armed = timer.schedule(this::fire, Math.max(0, armedAt - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private long toEpoch(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private record Departure(long epochMillis, int flightId) implements Comparable<Departure> {
+        @Override
+        public int compareTo(Departure other) {
+            return Long.compare(epochMillis, other.epochMillis);
+        }
+    }
+}
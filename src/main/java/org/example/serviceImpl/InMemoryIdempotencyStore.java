@@ -0,0 +1,61 @@
+package org.example.serviceImpl;
+
+import org.example.entity.IdempotencyRecord;
+import org.example.service.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final long ttlMillis;
+    private final LinkedHashMap<String, IdempotencyRecord> records;
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.ttl-minutes:1440}") long ttlMinutes,
+                                    @Value("${idempotency.max-entries:100000}") int maxEntries) {
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.records = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries || eldest.getValue().getExpiresAt().getTime() < System.currentTimeMillis();
+            }
+        };
+    }
+
+    @Override
+    public synchronized IdempotencyRecord reserve(String key, String fingerprint) {
+        IdempotencyRecord existing = records.get(key);
+        if (existing != null && existing.getExpiresAt().getTime() >= System.currentTimeMillis()) {
+            return existing;
+        }
+        records.remove(key);
+        records.put(key, IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .fingerprint(fingerprint)
+                .expiresAt(new Date(System.currentTimeMillis() + ttlMillis))
+                .build());
+        return null;
+    }
+
+    @Override
+    public synchronized void complete(String key, int status, String contentType, byte[] body) {
+        IdempotencyRecord record = records.get(key);
+        if (record != null) {
+            record.setResponseStatus(status);
+            record.setContentType(contentType);
+            record.setResponseBody(body);
+            record.setCompleted(true);
+        }
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        records.remove(key);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.serviceImpl;
+
+import org.example.entity.IdempotencyRecord;
+import org.example.repository.IdempotencyRepository;
+import org.example.service.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares idempotency keys between nodes through the IDEMPOTENCY_KEY table. The unique constraint
+ * on the key decides which node gets to run the request.
+ */
+@Service
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "db")
+public class JpaIdempotencyStore implements IdempotencyStore {
+    @Autowired
+    IdempotencyRepository idempotencyRepository;
+
+    @Value("${idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Override
+    public IdempotencyRecord reserve(String key, String fingerprint) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                idempotencyRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .idempotencyKey(key)
+                        .fingerprint(fingerprint)
+                        .expiresAt(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes)))
+                        .build());
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyRecord existing = idempotencyRepository.findByIdempotencyKey(key);
+                if (existing != null && existing.getExpiresAt().getTime() >= System.currentTimeMillis()) {
+                    return existing;
+                }
+                idempotencyRepository.deleteByKey(key);
+            }
+        }
+        throw new IllegalStateException("Unable to reserve idempotency key " + key);
+    }
+
+    @Override
+    public void complete(String key, int status, String contentType, byte[] body) {
+        IdempotencyRecord record = idempotencyRepository.findByIdempotencyKey(key);
+        if (record != null) {
+            record.setResponseStatus(status);
+            record.setContentType(contentType);
+            record.setResponseBody(body);
+            record.setCompleted(true);
+            idempotencyRepository.save(record);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        idempotencyRepository.deleteByKey(key);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-millis:600000}")
+    public void purgeExpired() {
+        idempotencyRepository.deleteExpired(new Date());
+    }
+}
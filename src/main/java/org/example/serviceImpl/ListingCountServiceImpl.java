@@ -0,0 +1,61 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import org.example.repository.NewsRepository;
+import org.example.repository.PlaneRepository;
+import org.example.repository.SeatRepository;
+import org.example.repository.TransactionRepository;
+import org.example.repository.UserRepository;
+import org.example.service.ListingCountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the listing totals in memory and recounts every listing on a fixed delay.
+ */
+@Service
+public class ListingCountServiceImpl implements ListingCountService {
+    @Autowired
+    NewsRepository newsRepository;
+
+    @Autowired
+    PlaneRepository planeRepository;
+
+    @Autowired
+    SeatRepository seatRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    private final Map<String, LongSupplier> counters = new LinkedHashMap<>();
+    private final Map<String, Long> totals = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerCounters() {
+        counters.put(NEWS, newsRepository::countByIsDeletedFalse);
+        counters.put(PLANE, planeRepository::countByIsDeletedFalse);
+        counters.put(SEAT, seatRepository::countByIsDeletedFalse);
+        counters.put(USER, userRepository::countByIsDeletedFalse);
+        counters.put(TRANSACTION, transactionRepository::countByIsDeletedFalse);
+    }
+
+    @Override
+    public long approximateTotal(String listing) {
+        return totals.computeIfAbsent(listing, key -> counters.get(key).getAsLong());
+    }
+
+    @Scheduled(fixedDelayString = "${listing.count.refresh-millis:60000}")
+    @Override
+    public void refresh() {
+        counters.forEach((listing, counter) -> totals.put(listing, counter.getAsLong()));
+    }
+}
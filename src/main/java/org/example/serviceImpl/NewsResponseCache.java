@@ -0,0 +1,165 @@
+package org.example.serviceImpl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.example.constant.Category;
+import org.example.entity.News;
+import org.example.event.NewsChangedEvent;
+import org.example.repository.NewsRepository;
+import org.example.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps news responses as the bytes that go on the wire, plain and gzipped, so a hit costs
+ * neither a query nor a serialisation. Each entry carries a strong ETag derived from a hash of
+ * its JSON, with a "-gz" suffix on the gzipped representation since its bytes differ, which lets
+ * conditional requests be answered from the cache alone. Concurrent misses
+ * share one load, which reads the cache generation itself before querying, as in
+ * {@link FlightQueryCache}.
+ */
+@Component
+public class NewsResponseCache {
+    @Autowired
+    NewsRepository newsRepository;
+
+    @Autowired
+    RequestCoalescer requestCoalescer;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${news.cache.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${news.cache.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    private BoundedCache<Object, Encoded> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    /** Returns the encoded article, or null when there is none. */
+    public Encoded article(Integer id) {
+        return load(new ById(id), () -> {
+            News news = newsRepository.findById(String.valueOf(id)).orElse(null);
+            if (news == null) {
+                return null;
+            }
+            // keep the version in front so the tag still works as an If-Match for edits
+            return encode(news, (news.getVersion() == null ? 0 : news.getVersion()) + "-");
+        });
+    }
+
+    /** Returns the encoded category page, or null when the page is empty. */
+    public Encoded categoryPage(Category category, Pageable pageable) {
+        return load(new CategoryPage(category, pageable.getPageNumber(), pageable.getPageSize()), () -> {
+            List<News> newsList = newsRepository.findByCategoryAndIsDeletedFalse(category, pageable).getContent();
+            return newsList == null || newsList.isEmpty() ? null : encode(newsList, "");
+        });
+    }
+
+    public BoundedCache.Stats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Category pages are all dropped because an edit can move an article between categories
+     * and shift the pages after it.
+     */
+    @EventListener
+    public void onNewsChanged(NewsChangedEvent event) {
+        Integer id = event.getNews().getId();
+        cache.invalidateIf((key, value) -> key instanceof CategoryPage || new ById(id).equals(key));
+    }
+
+    private Encoded load(Object key, Supplier<Encoded> loader) {
+        Encoded cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return requestCoalescer.execute(() -> {
+            long generation = cache.generation();
+            Encoded value = loader.get();
+            if (value != null) {
+                cache.putIfCurrent(key, value, generation);
+            }
+            return value;
+        }, "news.response", key);
+    }
+
+    private Encoded encode(Object body, String tagPrefix) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String hash = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12));
+            return new Encoded(json, gzip(json), "\"" + tagPrefix + hash + "\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public record Encoded(byte[] json, byte[] gzip, String eTag) {
+        /** Tag of the plain or the gzipped representation. */
+        public String eTag(boolean gzipped) {
+            return gzipped ? eTag.substring(0, eTag.length() - 1) + "-gz\"" : eTag;
+        }
+
+        /**
+         * If-None-Match uses weak comparison, so a W/ prefix on the client's tag is ignored. The tag
+         * must be the one of the representation about to be sent.
+         */
+        public boolean matches(String ifNoneMatch, boolean gzipped) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            String eTag = eTag(gzipped);
+            for (String tag : ifNoneMatch.split(",")) {
+                String value = tag.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals("*") || value.equals(eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record ById(Integer id) {
+    }
+
+    private record CategoryPage(Category category, int page, int size) {
+    }
+}
@@ -2,12 +2,21 @@ package org.example.serviceImpl;
 
 import org.example.constant.Category;
 import org.example.entity.News;
+import org.example.event.NewsChangedEvent;
+import org.example.payload.ChangeSet;
+import org.example.payload.CursorPage;
 import org.example.repository.NewsRepository;
 import org.example.service.NewsService;
+import org.example.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 @Service
@@ -15,29 +24,78 @@ public class NewsServiceImpl implements NewsService {
     @Autowired
     NewsRepository newsRepository;
 
+    @Value("${sync.changes.safety-lag-millis:5000}")
+    private long changesSafetyLagMillis;
+
+    @Autowired
+    BulkWriter bulkWriter;
+
+    @Autowired
+    RequestCoalescer requestCoalescer;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<News> findAll(Pageable pageable) {
-        return newsRepository.findByIsDeletedFalse(pageable).getContent();
+        return requestCoalescer.execute(() -> newsRepository.findByIsDeletedFalse(pageable).getContent(),
+                "news.findAll", pageable);
+    }
+
+    @Override
+    public CursorPage<News> findPage(String cursor, int pageSize) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<News> rows = after == null
+                ? newsRepository.findFirstKeysetPage(limit)
+                : newsRepository.findKeysetPageAfter(after.toDate(), after.getId(), limit);
+        return KeysetCursor.page(rows, pageSize, row -> KeysetCursor.of(row.getCreateDate(), row.getId()));
+    }
+
+    @Override
+    public ChangeSet<News> findChanges(String since, int limit) {
+        KeysetCursor after = KeysetCursor.decode(since);
+        limit = Math.min(limit, KeysetCursor.MAX_CHANGES);
+        Date upTo = new Date(System.currentTimeMillis() - changesSafetyLagMillis);
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<News> rows = after == null
+                ? newsRepository.findFirstChanges(upTo, page)
+                : newsRepository.findChangesAfter(after.toDate(), after.getId(), upTo, page);
+        return KeysetCursor.changes(rows, limit, since, row -> KeysetCursor.of(row.getUpdateDate(), row.getId()));
     }
 
     @Override
     public List<News> findByTitle(String title, Pageable pageable) {
-        return newsRepository.findByTitleContainsAndIsDeletedFalse(title, pageable).getContent();
+        return requestCoalescer.execute(() -> newsRepository.findByTitleContainsAndIsDeletedFalse(title, pageable).getContent(),
+                "news.findByTitle", title, pageable);
     }
 
     @Override
     public List<News> findByCategory(Category category, Pageable pageable) {
-        return newsRepository.findByCategoryAndIsDeletedFalse(category, pageable).getContent();
+        return requestCoalescer.execute(() -> newsRepository.findByCategoryAndIsDeletedFalse(category, pageable).getContent(),
+                "news.findByCategory", category, pageable);
     }
 
     @Override
     public News findById(Integer id) {
-        return newsRepository.findById(String.valueOf(id)).get();
+        return requestCoalescer.execute(() -> newsRepository.findById(String.valueOf(id)).get(), "news.findById", id);
     }
 
     @Override
     public News save(News book) {
-        return newsRepository.save(book);
+        News savedNews = newsRepository.save(book);
+        eventPublisher.publishEvent(new NewsChangedEvent(savedNews));
+        return savedNews;
+    }
+
+    @Override
+    public List<News> saveAll(List<News> newsList) {
+        List<News> savedNews = new ArrayList<>(newsList.size());
+        for (List<News> chunk : bulkWriter.chunks(newsList)) {
+            savedNews.addAll(bulkWriter.write(chunk, newsRepository, newsRepository::findByIdIn));
+        }
+        savedNews.forEach(news -> eventPublisher.publishEvent(new NewsChangedEvent(news)));
+        return savedNews;
     }
 
     @Override
@@ -45,5 +103,6 @@ public class NewsServiceImpl implements NewsService {
         News book = newsRepository.findByIdAndIsDeletedFalse(id);
         book.setDeleted(true);
         newsRepository.save(book);
+        eventPublisher.publishEvent(new NewsChangedEvent(book));
     }
 }
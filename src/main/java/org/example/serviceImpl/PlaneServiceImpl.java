@@ -1,12 +1,20 @@
 package org.example.serviceImpl;
 
 import org.example.entity.Plane;
+import org.example.event.PlaneChangedEvent;
+import org.example.payload.ChangeSet;
+import org.example.payload.CursorPage;
 import org.example.repository.PlaneRepository;
 import org.example.service.PlaneService;
+import org.example.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
 
 @Service
@@ -14,19 +22,52 @@ public class PlaneServiceImpl implements PlaneService {
     @Autowired
     PlaneRepository planeRepository;
 
+    @Value("${sync.changes.safety-lag-millis:5000}")
+    private long changesSafetyLagMillis;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    RequestCoalescer requestCoalescer;
+
     @Override
     public List<Plane> findByName(String name, Pageable pageable) {
-        return planeRepository.findByNameContainsAndIsDeletedFalse(name, pageable).getContent();
+        return requestCoalescer.execute(() -> planeRepository.findByNameContainsAndIsDeletedFalse(name, pageable).getContent(),
+                "plane.findByName", name, pageable);
     }
 
     @Override
     public Plane findById(Integer id) {
-        return planeRepository.findById(String.valueOf(id)).get();
+        return requestCoalescer.execute(() -> planeRepository.findById(String.valueOf(id)).get(), "plane.findById", id);
     }
 
     @Override
     public List<Plane> findAll(Pageable pageable) {
-        return planeRepository.findByIsDeletedFalse(pageable).getContent();
+        return requestCoalescer.execute(() -> planeRepository.findByIsDeletedFalse(pageable).getContent(),
+                "plane.findAll", pageable);
+    }
+
+    @Override
+    public CursorPage<Plane> findPage(String cursor, int pageSize) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Plane> rows = after == null
+                ? planeRepository.findFirstKeysetPage(limit)
+                : planeRepository.findKeysetPageAfter(after.toDate(), after.getId(), limit);
+        return KeysetCursor.page(rows, pageSize, row -> KeysetCursor.of(row.getCreateDate(), row.getId()));
+    }
+
+    @Override
+    public ChangeSet<Plane> findChanges(String since, int limit) {
+        KeysetCursor after = KeysetCursor.decode(since);
+        limit = Math.min(limit, KeysetCursor.MAX_CHANGES);
+        Date upTo = new Date(System.currentTimeMillis() - changesSafetyLagMillis);
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<Plane> rows = after == null
+                ? planeRepository.findFirstChanges(upTo, page)
+                : planeRepository.findChangesAfter(after.toDate(), after.getId(), upTo, page);
+        return KeysetCursor.changes(rows, limit, since, row -> KeysetCursor.of(row.getUpdateDate(), row.getId()));
     }
 
     @Override
@@ -39,10 +80,13 @@ public class PlaneServiceImpl implements PlaneService {
         Plane plane = planeRepository.findById(String.valueOf(id)).get();
         plane.setDeleted(true);
         planeRepository.save(plane);
+        eventPublisher.publishEvent(new PlaneChangedEvent(plane));
     }
 
     @Override
     public Plane save(Plane plane) {
-        return planeRepository.save(plane);
+        Plane savedPlane = planeRepository.save(plane);
+        eventPublisher.publishEvent(new PlaneChangedEvent(savedPlane));
+        return savedPlane;
     }
 }
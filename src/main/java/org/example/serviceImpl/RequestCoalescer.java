@@ -0,0 +1,30 @@
+package org.example.serviceImpl;
+
+import org.example.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Shares one database call between concurrent identical reads, keyed by the query name and its
+ * arguments.
+ */
+@Component
+public class RequestCoalescer {
+    private final SingleFlight<Object> singleFlight = new SingleFlight<>();
+
+    @Value("${coalescing.timeout-millis:2000}")
+    private long timeoutMillis;
+
+    public <V> V execute(Supplier<V> loader, String query, Object... arguments) {
+        Object[] key = Arrays.copyOf(new Object[]{query}, arguments.length + 1);
+        System.arraycopy(arguments, 0, key, 1, arguments.length);
+        return singleFlight.execute(Arrays.asList(key), loader, timeoutMillis);
+    }
+
+    public SingleFlight.Stats stats() {
+        return singleFlight.stats();
+    }
+}
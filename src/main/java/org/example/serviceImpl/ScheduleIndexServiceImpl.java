@@ -0,0 +1,192 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import org.example.entity.Flight;
+import org.example.event.FlightChangedEvent;
+import org.example.repository.FlightRepository;
+import org.example.service.ScheduleIndexService;
+import org.example.util.ScheduleIndex;
+import org.example.util.TextNormalizer;
+import org.example.util.TrigramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class ScheduleIndexServiceImpl implements ScheduleIndexService {
+    @Autowired
+    FlightRepository flightRepository;
+
+    private final ScheduleIndex index = new ScheduleIndex();
+    /** Every folded city name seen for each airport, by dictionary id. */
+    private final List<Set<String>> airportCities = new ArrayList<>();
+    /** Trigrams of the city names above, so substring matches do not scan every airport. */
+    private final TrigramIndex cityIndex = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public int[] findCandidates(String departure, String arrival, LocalDateTime dateFrom, LocalDateTime dateTo) {
+        long from = dateFrom == null ? Long.MIN_VALUE : FlightScheduleServiceImpl.toEpoch(dateFrom);
+        long to = dateTo == null ? Long.MAX_VALUE : FlightScheduleServiceImpl.toEpoch(dateTo);
+        lock.readLock().lock();
+        try {
+            int[] origins = matchAirports(departure);
+            int[] destinations = matchAirports(arrival);
+            if (origins == null && destinations == null) {
+                return null;
+            }
+            Collector collector = new Collector(from, to);
+            if (destinations == null) {
+                for (int origin : origins) {
+                    for (int destination : index.destinationsOf(origin)) {
+                        collector.add(origin, destination);
+                    }
+                }
+            } else if (origins == null) {
+                for (int destination : destinations) {
+                    for (int origin : index.originsOf(destination)) {
+                        collector.add(origin, destination);
+                    }
+                }
+            } else {
+                Set<Integer> wanted = new HashSet<>();
+                for (int destination : destinations) {
+                    wanted.add(destination);
+                }
+                for (int origin : origins) {
+                    for (int destination : index.destinationsOf(origin)) {
+                        if (wanted.contains(destination)) {
+                            collector.add(origin, destination);
+                        }
+                    }
+                }
+            }
+            return collector.result();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PostConstruct
+    @Override
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            for (Object[] row : flightRepository.findRouteRows()) {
+                put((Integer) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+                        (LocalDateTime) row[5]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.getFlight();
+        if (flight.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (flight.isDeleted() || flight.getStartTime() == null) {
+                index.remove(flight.getId());
+            } else {
+                put(flight.getId(), flight.getDepartureCode(), flight.getDeparture(),
+                        flight.getArrivalCode(), flight.getArrival(), flight.getStartTime());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(int flightId, String departureCode, String departure, String arrivalCode, String arrival,
+                     LocalDateTime startTime) {
+        int origin = airport(departureCode, departure);
+        int destination = airport(arrivalCode, arrival);
+        index.put(flightId, origin, destination, FlightScheduleServiceImpl.toEpoch(startTime));
+    }
+
+    private int airport(String code, String city) {
+        int airportId = index.encode(TextNormalizer.fold(code).trim());
+        while (airportCities.size() <= airportId) {
+            airportCities.add(new HashSet<>());
+        }
+        Set<String> cities = airportCities.get(airportId);
+        if (cities.add(TextNormalizer.fold(city).trim())) {
+            cityIndex.put(airportId, cities.toArray(new String[0]));
+        }
+        return airportId;
+    }
+
+    /**
+     * Airports whose code is the text or whose city name contains it, or null when the text is
+     * blank or too short to narrow the search down.
+     */
+    private int[] matchAirports(String text) {
+        String folded = TextNormalizer.fold(text).trim();
+        if (folded.isEmpty()) {
+            return null;
+        }
+        int[] candidates = cityIndex.candidates(folded);
+        int exact = index.idOf(folded);
+        if (candidates == null) {
+            return exact < 0 ? null : new int[]{exact};
+        }
+        int[] matches = new int[candidates.length + 1];
+        int count = 0;
+        if (exact >= 0) {
+            matches[count++] = exact;
+        }
+        for (int airportId : candidates) {
+            if (airportId == exact) {
+                continue;
+            }
+            for (String city : airportCities.get(airportId)) {
+                if (city.contains(folded)) {
+                    matches[count++] = airportId;
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /** Concatenates route slices into one sorted id array. */
+    private class Collector {
+        private final long from;
+        private final long to;
+        private int[] ids = new int[16];
+        private int count;
+
+        private Collector(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        void add(int origin, int destination) {
+            int[] slice = index.slice(origin, destination, from, to);
+            if (count + slice.length > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(count + slice.length, ids.length * 2));
+            }
+            System.arraycopy(slice, 0, ids, count, slice.length);
+            count += slice.length;
+        }
+
+        int[] result() {
+            int[] result = Arrays.copyOf(ids, count);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
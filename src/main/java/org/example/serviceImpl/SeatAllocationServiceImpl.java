@@ -0,0 +1,103 @@
+package org.example.serviceImpl;
+
+import org.example.payload.GroupSeatRequest;
+import org.example.payload.SeatHold;
+import org.example.service.SeatAllocationService;
+import org.example.service.SeatHoldService;
+import org.example.service.SeatInventoryService;
+import org.example.util.SeatLayout;
+import org.example.util.SeatRowMasks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+public class SeatAllocationServiceImpl implements SeatAllocationService {
+    private static final int MAX_ATTEMPTS = 8;
+
+    @Autowired
+    SeatInventoryService seatInventoryService;
+
+    @Autowired
+    SeatHoldService seatHoldService;
+
+    /**
+     * Finds the front-most block of adjacent free seats matching the request, preferring blocks
+     * that include a window seat when asked to, claims every seat of the block and holds them.
+     * Returns an empty list when no block is available.
+     */
+    @Override
+    public List<SeatHold> allocateGroup(GroupSeatRequest request) {
+        int size = request.getPartySize();
+        int type = request.getSeatType() == null ? -1 : request.getSeatType().ordinal();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            SeatRowMasks masks = seatInventoryService.rowMasks(request.getFlightId());
+            SeatLayout.Row bestRow = null;
+            int bestColumn = -1;
+            for (SeatLayout.Row row : masks.getLayout().getRows()) {
+                if (row.width() < size) {
+                    continue;
+                }
+                long starts = row.blockStarts(masks.freeMask(row) & row.typeMask(type), size);
+                if (starts == 0) {
+                    continue;
+                }
+                int column = Long.numberOfTrailingZeros(starts);
+                if (request.isPreferWindow()) {
+                    int windowColumn = windowStart(starts, row.windowMask(), size);
+                    if (windowColumn >= 0) {
+                        bestRow = row;
+                        bestColumn = windowColumn;
+                        break;
+                    }
+                }
+                if (bestRow == null) {
+                    bestRow = row;
+                    bestColumn = column;
+                    if (!request.isPreferWindow()) {
+                        break;
+                    }
+                }
+            }
+            if (bestRow == null) {
+                return Collections.emptyList();
+            }
+            if (claimBlock(request.getFlightId(), bestRow, bestColumn, size)) {
+                List<SeatHold> holds = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    holds.add(seatHoldService.holdClaimed(request.getFlightId(), bestRow.seatAt(bestColumn + i),
+                            request.getUserId()));
+                }
+                return holds;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private static int windowStart(long starts, long windowMask, int size) {
+        long block = size == 64 ? -1L : (1L << size) - 1;
+        while (starts != 0) {
+            int column = Long.numberOfTrailingZeros(starts);
+            if (((block << column) & windowMask) != 0) {
+                return column;
+            }
+            starts &= starts - 1;
+        }
+        return -1;
+    }
+
+    private boolean claimBlock(Integer flightId, SeatLayout.Row row, int column, int size) {
+        for (int i = 0; i < size; i++) {
+            if (!seatInventoryService.claim(flightId, row.seatAt(column + i))) {
+                for (int j = 0; j < i; j++) {
+                    seatInventoryService.release(flightId, row.seatAt(column + j));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+}
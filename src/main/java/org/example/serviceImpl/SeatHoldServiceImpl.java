@@ -0,0 +1,177 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.constant.SeatStatus;
+import org.example.constant.TransactionStatusEnum;
+import org.example.entity.Transaction;
+import org.example.exception.SeatHoldForbiddenException;
+import org.example.exception.SeatHoldNotFoundException;
+import org.example.exception.SeatUnavailableException;
+import org.example.payload.SeatHold;
+import org.example.service.FlightService;
+import org.example.service.SeatHoldService;
+import org.example.service.SeatInventoryService;
+import org.example.service.SeatService;
+import org.example.service.TransactionService;
+import org.example.service.UserService;
+import org.example.util.TimingWheel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class SeatHoldServiceImpl implements SeatHoldService {
+    @Autowired
+    SeatInventoryService seatInventoryService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    FlightService flightService;
+
+    @Autowired
+    SeatService seatService;
+
+    @Autowired
+    UserService userService;
+
+    @Value("${seat.hold.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${seat.hold.tick-millis:100}")
+    private long tickMillis;
+
+    private final ConcurrentHashMap<String, HoldEntry> holds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, String> heldSeats = new ConcurrentHashMap<>();
+    private TimingWheel timingWheel;
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void start() {
+        timingWheel = new TimingWheel(tickMillis, 9, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> timingWheel.advanceTo(System.currentTimeMillis()),
+                tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    @Override
+    public SeatHold hold(Integer flightId, Integer seatId, Integer userId) {
+        if (!seatInventoryService.claim(flightId, seatId)) {
+            throw new SeatUnavailableException(flightId, seatId);
+        }
+        return holdClaimed(flightId, seatId, userId);
+    }
+
+    @Override
+    public SeatHold holdClaimed(Integer flightId, Integer seatId, Integer userId) {
+        long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), flightId, seatId, userId, new Date(expiresAt));
+        HoldEntry entry = new HoldEntry(hold);
+        holds.put(hold.getId(), entry);
+        heldSeats.put(seatKey(flightId, seatId), hold.getId());
+        entry.timeout = timingWheel.schedule(() -> expire(hold.getId(), entry), expiresAt);
+        return hold;
+    }
+
+    @Override
+    public SeatHold findById(String holdId) {
+        HoldEntry entry = holds.get(holdId);
+        return entry == null ? null : entry.hold;
+    }
+
+    @Override
+    public boolean release(String holdId, Integer callerId) {
+        HoldEntry entry = holds.get(holdId);
+        if (entry == null) {
+            return false;
+        }
+        checkHolder(entry.hold, callerId);
+        if (!holds.remove(holdId, entry)) {
+            return false;
+        }
+        timingWheel.cancel(entry.timeout);
+        heldSeats.remove(seatKey(entry.hold.getFlightId(), entry.hold.getSeatId()), holdId);
+        seatInventoryService.release(entry.hold.getFlightId(), entry.hold.getSeatId());
+        return true;
+    }
+
+    @Override
+    public Transaction confirm(String holdId, String price, Integer callerId) {
+        HoldEntry entry = holds.get(holdId);
+        if (entry == null) {
+            throw new SeatHoldNotFoundException(holdId);
+        }
+        checkHolder(entry.hold, callerId);
+        if (!holds.remove(holdId, entry)) {
+            throw new SeatHoldNotFoundException(holdId);
+        }
+        timingWheel.cancel(entry.timeout);
+        SeatHold hold = entry.hold;
+        heldSeats.remove(seatKey(hold.getFlightId(), hold.getSeatId()), holdId);
+        try {
+            Transaction transaction = Transaction.builder()
+                    .user(hold.getUserId() == null ? null : userService.findById(hold.getUserId()))
+                    .flight(flightService.findById(hold.getFlightId()))
+                    .seat(seatService.findById(hold.getSeatId()))
+                    .status(TransactionStatusEnum.BOOKED)
+                    .price(price)
+                    .build();
+            return transactionService.saveClaimed(transaction);
+        } catch (RuntimeException e) {
+            seatInventoryService.release(hold.getFlightId(), hold.getSeatId());
+            throw e;
+        }
+    }
+
+    @Override
+    public SeatStatus findSeatStatus(Integer flightId, Integer seatId) {
+        if (heldSeats.containsKey(seatKey(flightId, seatId))) {
+            return SeatStatus.HELD;
+        }
+        return seatInventoryService.isAvailable(flightId, seatId) ? SeatStatus.OPEN : SeatStatus.BOOKED;
+    }
+
+    private void expire(String holdId, HoldEntry entry) {
+        if (holds.remove(holdId, entry)) {
+            heldSeats.remove(seatKey(entry.hold.getFlightId(), entry.hold.getSeatId()), holdId);
+            seatInventoryService.release(entry.hold.getFlightId(), entry.hold.getSeatId());
+        }
+    }
+
+    private static void checkHolder(SeatHold hold, Integer callerId) {
+        if (hold.getUserId() != null && !hold.getUserId().equals(callerId)) {
+            throw new SeatHoldForbiddenException(hold.getId());
+        }
+    }
+
+    private static long seatKey(Integer flightId, Integer seatId) {
+        return ((long) flightId << 32) | (seatId & 0xFFFFFFFFL);
+    }
+
+    private static class HoldEntry {
+        private final SeatHold hold;
+        private volatile TimingWheel.Timeout timeout;
+
+        private HoldEntry(SeatHold hold) {
+            this.hold = hold;
+        }
+    }
+}
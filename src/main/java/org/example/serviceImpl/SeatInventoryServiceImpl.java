@@ -0,0 +1,119 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import org.example.constant.TransactionStatusEnum;
+import org.example.event.SeatClaimRevertedEvent;
+import org.example.event.SeatClaimedEvent;
+import org.example.event.SeatReleasedEvent;
+import org.example.repository.TransactionRepository;
+import org.example.service.SeatInventoryService;
+import org.example.service.SeatLayoutService;
+import org.example.util.SeatBitSet;
+import org.example.util.SeatLayout;
+import org.example.util.SeatRowMasks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class SeatInventoryServiceImpl implements SeatInventoryService {
+    public static final Set<TransactionStatusEnum> RELEASED_STATUSES =
+            EnumSet.of(TransactionStatusEnum.FREE, TransactionStatusEnum.CANCEL);
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    SeatLayoutService seatLayoutService;
+
+    private final ConcurrentHashMap<Integer, SeatBitSet> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Row masks built lazily per flight. They are only written inside the map's compute methods
+     * and always copy the current bitset bit, so a claim racing a rebuild or a release of the
+     * same seat cannot leave a stale bit behind.
+     */
+    private final ConcurrentHashMap<Integer, SeatRowMasks> rowMasks = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    @Override
+    public void reload() {
+        ConcurrentHashMap<Integer, SeatBitSet> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : transactionRepository.findSeatClaims(RELEASED_STATUSES)) {
+            loaded.computeIfAbsent((Integer) row[0], key -> new SeatBitSet()).tryClaim((Integer) row[1]);
+        }
+        flights.clear();
+        flights.putAll(loaded);
+        rowMasks.clear();
+    }
+
+    @Override
+    public boolean isAvailable(Integer flightId, Integer seatId) {
+        SeatBitSet seats = flights.get(flightId);
+        return seats == null || !seats.isTaken(seatId);
+    }
+
+    @Override
+    public boolean claim(Integer flightId, Integer seatId) {
+        SeatBitSet seats = flights.computeIfAbsent(flightId, key -> new SeatBitSet());
+        if (!seats.tryClaim(seatId)) {
+            return false;
+        }
+        syncRowMask(flightId, seats, seatId);
+        eventPublisher.publishEvent(new SeatClaimedEvent(flightId, seatId));
+        return true;
+    }
+
+    @Override
+    public boolean release(Integer flightId, Integer seatId) {
+        SeatBitSet seats = flights.get(flightId);
+        if (seats == null || !seats.release(seatId)) {
+            return false;
+        }
+        syncRowMask(flightId, seats, seatId);
+        eventPublisher.publishEvent(new SeatReleasedEvent(flightId, seatId));
+        return true;
+    }
+
+    @Override
+    public boolean revertClaim(Integer flightId, Integer seatId) {
+        SeatBitSet seats = flights.get(flightId);
+        if (seats == null || !seats.release(seatId)) {
+            return false;
+        }
+        syncRowMask(flightId, seats, seatId);
+        eventPublisher.publishEvent(new SeatClaimRevertedEvent(flightId, seatId));
+        return true;
+    }
+
+    @Override
+    public int[] findBookedSeats(Integer flightId) {
+        SeatBitSet seats = flights.get(flightId);
+        return seats == null ? new int[0] : seats.toArray();
+    }
+
+    @Override
+    public SeatRowMasks rowMasks(Integer flightId) {
+        SeatLayout layout = seatLayoutService.getLayout();
+        SeatRowMasks masks = rowMasks.get(flightId);
+        if (masks != null && masks.getLayout() == layout) {
+            return masks;
+        }
+        return rowMasks.compute(flightId, (key, current) -> current != null && current.getLayout() == layout
+                ? current : new SeatRowMasks(layout, flights.get(key)));
+    }
+
+    private void syncRowMask(Integer flightId, SeatBitSet seats, Integer seatId) {
+        rowMasks.computeIfPresent(flightId, (key, masks) -> {
+            masks.set(seatId, seats.isTaken(seatId));
+            return masks;
+        });
+    }
+}
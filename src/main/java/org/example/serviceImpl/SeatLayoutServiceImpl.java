@@ -0,0 +1,59 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import org.example.constant.SeatType;
+import org.example.event.SeatChangedEvent;
+import org.example.repository.SeatRepository;
+import org.example.service.SeatLayoutService;
+import org.example.util.SeatLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class SeatLayoutServiceImpl implements SeatLayoutService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatLayoutServiceImpl.class);
+
+    @Autowired
+    SeatRepository seatRepository;
+
+    @Value("${seat.layout.aisle-after:C}")
+    private String aisleAfter;
+
+    private volatile SeatLayout layout;
+
+    @Override
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    @PostConstruct
+    @Override
+    public void reload() {
+        List<SeatLayout.SeatInfo> seats = new ArrayList<>();
+        for (Object[] row : seatRepository.findLayoutRows()) {
+            seats.add(new SeatLayout.SeatInfo((Integer) row[0], (String) row[1],
+                    ((SeatType) row[2]).ordinal(), (Boolean) row[3]));
+        }
+        SeatLayout built = SeatLayout.build(seats, aisleAfter);
+        if (built.getDuplicateNames() > 0) {
+            logger.warn("{} seats share a name with another seat and are not offered in group blocks",
+                    built.getDuplicateNames());
+        }
+        layout = built;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSeatChanged(SeatChangedEvent event) {
+        reload();
+    }
+}
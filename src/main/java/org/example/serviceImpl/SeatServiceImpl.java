@@ -1,9 +1,14 @@
 package org.example.serviceImpl;
 
 import org.example.entity.Seat;
+import org.example.event.SeatChangedEvent;
+import org.example.payload.CursorPage;
 import org.example.repository.SeatRepository;
 import org.example.service.SeatService;
+import org.example.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +19,9 @@ public class SeatServiceImpl implements SeatService {
     @Autowired
     SeatRepository seatRepository;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<Seat> findByConditions(String name, Boolean haveWindow, Pageable pageable) {
         return seatRepository.findByNameContainsAndHaveWindowAndDeletedFalse(name, haveWindow, pageable).getContent();
@@ -29,6 +37,16 @@ public class SeatServiceImpl implements SeatService {
         return seatRepository.findByIsDeletedFalse(pageable).getContent();
     }
 
+    @Override
+    public CursorPage<Seat> findPage(String cursor, int pageSize) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Seat> rows = after == null
+                ? seatRepository.findFirstKeysetPage(limit)
+                : seatRepository.findKeysetPageAfter(after.toDate(), after.getId(), limit);
+        return KeysetCursor.page(rows, pageSize, row -> KeysetCursor.of(row.getCreateDate(), row.getId()));
+    }
+
     @Override
     public boolean existsById(Integer id) {
         return seatRepository.existsByIdAndIsDeletedFalse(id);
@@ -39,10 +57,13 @@ public class SeatServiceImpl implements SeatService {
         Seat seat = seatRepository.findById(String.valueOf(id)).get();
         seat.setDeleted(true);
         seatRepository.save(seat);
+        eventPublisher.publishEvent(new SeatChangedEvent(id));
     }
 
     @Override
     public Seat save(Seat seat) {
-        return seatRepository.save(seat);
+        Seat savedSeat = seatRepository.save(seat);
+        eventPublisher.publishEvent(new SeatChangedEvent(savedSeat.getId()));
+        return savedSeat;
     }
 }
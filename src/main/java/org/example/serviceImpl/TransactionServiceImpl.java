@@ -1,21 +1,46 @@
 package org.example.serviceImpl;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.example.constant.TransactionStatusEnum;
 import org.example.entity.Transaction;
+import org.example.exception.SeatUnavailableException;
+import org.example.payload.CursorPage;
+import org.example.payload.TransactionDetail;
+import org.example.payload.TransactionSummary;
 import org.example.repository.TransactionRepository;
+import org.example.service.SeatInventoryService;
 import org.example.service.TransactionService;
+import org.example.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
+    private static final int STREAM_CLEAR_EVERY = 500;
+
     @Autowired
     TransactionRepository transactionRepository;
 
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    SeatInventoryService seatInventoryService;
+
+    @Autowired
+    BulkWriter bulkWriter;
+
     @Override
     public List<Transaction> findByConditions(String flightName, Date dateFrom, Date dateTo, TransactionStatusEnum status,
                                               Pageable pageable) {
@@ -33,16 +58,120 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionRepository.findByIsDeletedFalse(pageable).getContent();
     }
 
+    @Override
+    public CursorPage<Transaction> findPage(String cursor, int pageSize) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Transaction> rows = after == null
+                ? transactionRepository.findFirstKeysetPage(limit)
+                : transactionRepository.findKeysetPageAfter(after.toDate(), after.getId(), limit);
+        return KeysetCursor.page(rows, pageSize, row -> KeysetCursor.of(row.getCreateDate(), row.getId()));
+    }
+
+    @Override
+    public List<TransactionSummary> findSummaries(Pageable pageable) {
+        return transactionRepository.findSummaries(pageable);
+    }
+
+    @Override
+    public TransactionDetail findDetail(Integer id) {
+        return transactionRepository.findDetail(id);
+    }
+
     @Override
     public Transaction save(Transaction transaction) {
+        int[] oldClaim = null;
+        if (transaction.getId() != null) {
+            oldClaim = seatClaim(transactionRepository.findByIdAndIsDeletedFalse(transaction.getId()));
+        }
+        int[] newClaim = seatClaim(transaction);
+
+        boolean claimed = false;
+        if (newClaim != null && !sameSeat(oldClaim, newClaim)) {
+            if (!seatInventoryService.claim(newClaim[0], newClaim[1])) {
+                throw new SeatUnavailableException(newClaim[0], newClaim[1]);
+            }
+            claimed = true;
+        }
+
+        Transaction savedTransaction;
+        try {
+            savedTransaction = transactionRepository.save(transaction);
+        } catch (RuntimeException e) {
+            if (claimed) {
+                seatInventoryService.release(newClaim[0], newClaim[1]);
+            }
+            throw e;
+        }
+
+        if (oldClaim != null && !sameSeat(oldClaim, newClaim)) {
+            seatInventoryService.release(oldClaim[0], oldClaim[1]);
+        }
+        return savedTransaction;
+    }
+
+    /**
+     * Saves the list one chunk per transaction. Seats are claimed before a chunk is written and
+     * released again if the chunk fails, so a rejected chunk leaves the inventory untouched.
+     */
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        List<Transaction> savedTransactions = new ArrayList<>(transactions.size());
+        for (List<Transaction> chunk : bulkWriter.chunks(transactions)) {
+            List<int[]> claimed = new ArrayList<>();
+            List<int[]> replaced = new ArrayList<>();
+            try {
+                savedTransactions.addAll(bulkWriter.write(chunk, transactionRepository,
+                        transactionRepository::findByIdIn, stored -> {
+                    for (Transaction transaction : chunk) {
+                        int[] oldClaim = transaction.getId() == null ? null : seatClaim(stored.get(transaction.getId()));
+                        int[] newClaim = seatClaim(transaction);
+                        if (sameSeat(oldClaim, newClaim)) {
+                            continue;
+                        }
+                        if (newClaim != null) {
+                            if (!seatInventoryService.claim(newClaim[0], newClaim[1])) {
+                                throw new SeatUnavailableException(newClaim[0], newClaim[1]);
+                            }
+                            claimed.add(newClaim);
+                        }
+                        if (oldClaim != null) {
+                            replaced.add(oldClaim);
+                        }
+                    }
+                }));
+            } catch (RuntimeException e) {
+                for (int[] claim : claimed) {
+                    seatInventoryService.release(claim[0], claim[1]);
+                }
+                throw e;
+            }
+            for (int[] claim : replaced) {
+                seatInventoryService.release(claim[0], claim[1]);
+            }
+        }
+        return savedTransactions;
+    }
+
+    /**
+     * Persists a new transaction whose seat has already been claimed in the inventory by the caller,
+     * e.g. a confirmed seat hold. The caller stays responsible for releasing the seat if this fails.
+     */
+    @Override
+    public Transaction saveClaimed(Transaction transaction) {
+        transaction.setId(null);
         return transactionRepository.save(transaction);
     }
 
     @Override
     public void delete(Integer id) {
         Transaction transaction = transactionRepository.findByIdAndIsDeletedFalse(id);
+        int[] claim = seatClaim(transaction);
         transaction.setDeleted(true);
         transactionRepository.save(transaction);
+        if (claim != null) {
+            seatInventoryService.release(claim[0], claim[1]);
+        }
     }
 
     @Override
@@ -51,7 +180,31 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public List<Transaction> findByStatus(TransactionStatusEnum status) {
-        return transactionRepository.findByStatusAndIsDeletedFalse(status);
+    @Transactional(readOnly = true)
+    public void streamByStatus(TransactionStatusEnum status, Consumer<Transaction> consumer) {
+        try (Stream<Transaction> rows = transactionRepository.streamByStatus(status)) {
+            Iterator<Transaction> it = rows.iterator();
+            for (int n = 1; it.hasNext(); n++) {
+                consumer.accept(it.next());
+                // rows and their fetched associations are done with once written out
+                if (n % STREAM_CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private static int[] seatClaim(Transaction transaction) {
+        if (transaction == null || transaction.isDeleted() || transaction.getStatus() == null
+                || SeatInventoryServiceImpl.RELEASED_STATUSES.contains(transaction.getStatus())
+                || transaction.getFlight() == null || transaction.getFlight().getId() == null
+                || transaction.getSeat() == null || transaction.getSeat().getId() == null) {
+            return null;
+        }
+        return new int[]{transaction.getFlight().getId(), transaction.getSeat().getId()};
+    }
+
+    private static boolean sameSeat(int[] a, int[] b) {
+        return a != null && b != null && a[0] == b[0] && a[1] == b[1];
     }
 }
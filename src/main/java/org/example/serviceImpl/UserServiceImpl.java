@@ -1,9 +1,14 @@
 package org.example.serviceImpl;
 
 import org.example.entity.User;
+import org.example.payload.CursorPage;
+import org.example.payload.UserDetail;
+import org.example.payload.UserSummary;
 import org.example.repository.UserRepository;
 import org.example.service.UserService;
+import org.example.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -44,6 +49,26 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByIsDeletedFalse(pageable).getContent();
     }
 
+    @Override
+    public CursorPage<User> findPage(String cursor, int pageSize) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<User> rows = after == null
+                ? userRepository.findFirstKeysetPage(limit)
+                : userRepository.findKeysetPageAfter(after.toDate(), after.getId(), limit);
+        return KeysetCursor.page(rows, pageSize, row -> KeysetCursor.of(row.getCreateDate(), row.getId()));
+    }
+
+    @Override
+    public List<UserSummary> findSummaries(Pageable pageable) {
+        return userRepository.findSummaries(pageable);
+    }
+
+    @Override
+    public UserDetail findDetail(Integer id) {
+        return userRepository.findDetail(id);
+    }
+
     @Override
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmailAndIsDeletedFalse(email);
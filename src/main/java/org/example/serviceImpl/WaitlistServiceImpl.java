@@ -0,0 +1,232 @@
+package org.example.serviceImpl;
+
+import jakarta.annotation.PostConstruct;
+import org.example.constant.SeatType;
+import org.example.constant.TransactionStatusEnum;
+import org.example.constant.WaitlistStatus;
+import org.example.entity.Transaction;
+import org.example.entity.WaitlistEntry;
+import org.example.event.SeatReleasedEvent;
+import org.example.payload.WaitlistRequest;
+import org.example.repository.WaitlistRepository;
+import org.example.service.FlightService;
+import org.example.service.SeatInventoryService;
+import org.example.service.SeatLayoutService;
+import org.example.service.SeatService;
+import org.example.service.TransactionService;
+import org.example.service.UserService;
+import org.example.service.WaitlistService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+    private static final Comparator<Waiter> ORDER =
+            Comparator.comparingLong((Waiter waiter) -> waiter.requestTime).thenComparingInt(waiter -> waiter.id);
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    WaitlistRepository waitlistRepository;
+
+    @Autowired
+    SeatInventoryService seatInventoryService;
+
+    @Autowired
+    SeatLayoutService seatLayoutService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    FlightService flightService;
+
+    @Autowired
+    SeatService seatService;
+
+    @Autowired
+    UserService userService;
+
+    private final ConcurrentHashMap<Integer, FlightWaitlist> waitlists = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Waiter> waiters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        for (Object[] row : waitlistRepository.findQueueRows(WaitlistStatus.WAITING)) {
+            Date requestTime = (Date) row[5];
+            enqueue(new Waiter((Integer) row[0], (Integer) row[1], (Integer) row[2], (SeatType) row[3],
+                    (String) row[4], requestTime == null ? 0 : requestTime.getTime()));
+        }
+    }
+
+    @Override
+    public WaitlistEntry join(WaitlistRequest request) {
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .user(userService.findById(request.getUserId()))
+                .flight(flightService.findById(request.getFlightId()))
+                .seatType(request.getSeatType())
+                .price(request.getPrice())
+                .status(WaitlistStatus.WAITING)
+                .build();
+        WaitlistEntry savedEntry = waitlistRepository.save(entry);
+        Date requestTime = savedEntry.getCreateDate();
+        enqueue(new Waiter(savedEntry.getId(), request.getFlightId(), request.getUserId(), request.getSeatType(),
+                request.getPrice(), requestTime == null ? System.currentTimeMillis() : requestTime.getTime()));
+        return savedEntry;
+    }
+
+    @Override
+    public boolean leave(Integer id) {
+        Waiter waiter = waiters.get(id);
+        if (waiter == null || !waitlists.get(waiter.flightId).cancel(waiter)) {
+            return false;
+        }
+        WaitlistEntry entry = waitlistRepository.findByIdAndIsDeletedFalse(id);
+        if (entry != null) {
+            entry.setStatus(WaitlistStatus.CANCELLED);
+            waitlistRepository.save(entry);
+        }
+        return true;
+    }
+
+    @Override
+    public Map<SeatType, Integer> countWaiting(Integer flightId) {
+        FlightWaitlist waitlist = waitlists.get(flightId);
+        return waitlist == null ? new EnumMap<>(SeatType.class) : waitlist.sizes();
+    }
+
+    /**
+     * Hands a released seat to the earliest waiter of the same fare class on that flight.
+     */
+    @EventListener
+    public void onSeatReleased(SeatReleasedEvent event) {
+        FlightWaitlist waitlist = waitlists.get(event.getFlightId());
+        int type = seatLayoutService.getLayout().typeOf(event.getSeatId());
+        if (waitlist == null || type < 0) {
+            return;
+        }
+        Waiter waiter = waitlist.poll(SeatType.values()[type]);
+        if (waiter == null) {
+            return;
+        }
+        if (!seatInventoryService.claim(event.getFlightId(), event.getSeatId())) {
+            waitlist.add(waiter);
+            return;
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> promote(waiter, event.getSeatId()));
+        } catch (RuntimeException e) {
+            logger.error("Could not promote waitlist entry {} to seat {} on flight {}",
+                    waiter.id, event.getSeatId(), event.getFlightId(), e);
+            // the booking and the entry were rolled back together, so the waiter is still WAITING
+            waitlist.add(waiter);
+            seatInventoryService.revertClaim(event.getFlightId(), event.getSeatId());
+        }
+    }
+
+    private void promote(Waiter waiter, Integer seatId) {
+        Transaction transaction = transactionService.saveClaimed(Transaction.builder()
+                .user(userService.findById(waiter.userId))
+                .flight(flightService.findById(waiter.flightId))
+                .seat(seatService.findById(seatId))
+                .status(TransactionStatusEnum.BOOKED)
+                .price(waiter.price)
+                .build());
+        WaitlistEntry entry = waitlistRepository.findByIdAndIsDeletedFalse(waiter.id);
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        entry.setTransaction(transaction);
+        waitlistRepository.save(entry);
+    }
+
+    private void enqueue(Waiter waiter) {
+        waitlists.computeIfAbsent(waiter.flightId, key -> new FlightWaitlist()).add(waiter);
+    }
+
+    /**
+     * Queues of one flight. A waiter is in {@code waiters} exactly while it is queued and not
+     * cancelled; both maps are only changed under this object's lock, so a waiter that has been
+     * polled for promotion can no longer be cancelled and is never counted twice.
+     */
+    private class FlightWaitlist {
+        private final EnumMap<SeatType, PriorityQueue<Waiter>> queues = new EnumMap<>(SeatType.class);
+        private final int[] waiting = new int[SeatType.values().length];
+
+        synchronized void add(Waiter waiter) {
+            waiters.put(waiter.id, waiter);
+            queues.computeIfAbsent(waiter.seatType, key -> new PriorityQueue<>(ORDER)).add(waiter);
+            waiting[waiter.seatType.ordinal()]++;
+        }
+
+        /**
+         * Returns false when the waiter is no longer queued, e.g. because it is being promoted.
+         * Cancelled waiters stay in the heap until they reach the head and are skipped there.
+         */
+        synchronized boolean cancel(Waiter waiter) {
+            if (!waiters.remove(waiter.id, waiter)) {
+                return false;
+            }
+            waiter.cancelled = true;
+            waiting[waiter.seatType.ordinal()]--;
+            return true;
+        }
+
+        synchronized Waiter poll(SeatType seatType) {
+            PriorityQueue<Waiter> queue = queues.get(seatType);
+            if (queue == null) {
+                return null;
+            }
+            Waiter waiter = queue.poll();
+            while (waiter != null && waiter.cancelled) {
+                waiter = queue.poll();
+            }
+            if (waiter != null) {
+                waiters.remove(waiter.id, waiter);
+                waiting[seatType.ordinal()]--;
+            }
+            return waiter;
+        }
+
+        synchronized Map<SeatType, Integer> sizes() {
+            Map<SeatType, Integer> sizes = new EnumMap<>(SeatType.class);
+            for (SeatType seatType : queues.keySet()) {
+                sizes.put(seatType, waiting[seatType.ordinal()]);
+            }
+            return sizes;
+        }
+    }
+
+    private static class Waiter {
+        private final int id;
+        private final int flightId;
+        private final int userId;
+        private final SeatType seatType;
+        private final String price;
+        private final long requestTime;
+        /** Guarded by the lock of the waiter's {@link FlightWaitlist}. */
+        private boolean cancelled;
+
+        private Waiter(int id, int flightId, int userId, SeatType seatType, String price, long requestTime) {
+            this.id = id;
+            this.flightId = flightId;
+            this.userId = userId;
+            this.seatType = seatType;
+            this.price = price;
+            this.requestTime = requestTime;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Size-bounded LRU cache with a time-to-live per entry and hit/miss/eviction counters.
+ * Keys are spread over independently locked stripes by hash, each an access-ordered map holding
+ * its share of the capacity, so readers of different keys rarely contend and eviction is LRU
+ * within a stripe. Every invalidation bumps a generation number; {@link #putIfCurrent} uses it
+ * to drop values that were loaded before a concurrent invalidation and may therefore already be
+ * stale.
+ */
+public class BoundedCache<K, V> {
+    private static final int MAX_STRIPES = 16;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Stripe<K, V>[] stripes;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public BoundedCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        int stripeCount = Math.max(1, Math.min(MAX_STRIPES, maxEntries));
+        int stripeEntries = (maxEntries + stripeCount - 1) / stripeCount;
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(stripeEntries);
+        }
+    }
+
+    public V get(K key) {
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                stripe.entries.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /** Stores the value unless something was invalidated since {@code loadedAt} was read. */
+    public boolean putIfCurrent(K key, V value, long loadedAt) {
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            // invalidations bump the generation before they scan this stripe under its lock
+            if (generation.get() != loadedAt) {
+                return false;
+            }
+            put(stripe, key, value);
+            return true;
+        }
+    }
+
+    public void put(K key, V value) {
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            put(stripe, key, value);
+        }
+    }
+
+    public int invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        generation.incrementAndGet();
+        int removed = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Map.Entry<K, Entry<V>>> iterator = stripe.entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<K, Entry<V>> entry = iterator.next();
+                    if (predicate.test(entry.getKey(), entry.getValue().value)) {
+                        iterator.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        invalidations.add(removed);
+        return removed;
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                invalidations.add(stripe.entries.size());
+                stripe.entries.clear();
+            }
+        }
+    }
+
+    public Stats stats() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return new Stats(size, maxEntries, hits.sum(), misses.sum(), evictions.sum(), expirations.sum(),
+                invalidations.sum());
+    }
+
+    private void put(Stripe<K, V> stripe, K key, V value) {
+        stripe.entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        Iterator<Map.Entry<K, Entry<V>>> eldest = stripe.entries.entrySet().iterator();
+        while (stripe.entries.size() > stripe.maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private Stripe<K, V> stripeOf(K key) {
+        int hash = key.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    public record Stats(int size, int maxEntries, long hits, long misses, long evictions, long expirations,
+                        long invalidations) {
+    }
+
+    private static class Stripe<K, V> {
+        private final int maxEntries;
+        private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Stripe(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
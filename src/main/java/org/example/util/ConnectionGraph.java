@@ -0,0 +1,207 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time-dependent flight network for connection searches. Airports are dictionary-encoded and
+ * each one keeps its departures in parallel primitive arrays sorted by departure time, so the
+ * flights leaving an airport after a given moment are one binary search away.
+ * <p>
+ * {@link #search} runs a round-based earliest-arrival search in the style of RAPTOR: round k
+ * only relaxes departures from airports improved in round k - 1, so k rounds find the earliest
+ * arrival using at most k legs. Not thread-safe.
+ */
+public class ConnectionGraph {
+    private final Map<String, Integer> airportIds = new HashMap<>();
+    private final List<Departures> departures = new ArrayList<>();
+    private final Map<Integer, long[]> flights = new HashMap<>();
+
+    public int encode(String code) {
+        Integer id = airportIds.get(code);
+        if (id == null) {
+            id = departures.size();
+            airportIds.put(code, id);
+            departures.add(new Departures());
+        }
+        return id;
+    }
+
+    /** Returns the dictionary id of the airport code, or -1 when no flight uses it. */
+    public int lookup(String code) {
+        return airportIds.getOrDefault(code, -1);
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    public void put(int flightId, int origin, int destination, long departureEpoch, long arrivalEpoch) {
+        remove(flightId);
+        departures.get(origin).add(departureEpoch, arrivalEpoch, destination, flightId);
+        flights.put(flightId, new long[]{origin, departureEpoch});
+    }
+
+    public void remove(int flightId) {
+        long[] flight = flights.remove(flightId);
+        if (flight != null) {
+            departures.get((int) flight[0]).remove(flight[1], flightId);
+        }
+    }
+
+    public void clear() {
+        for (Departures list : departures) {
+            list.size = 0;
+        }
+        flights.clear();
+    }
+
+    /**
+     * Finds itineraries from origin to destination whose first leg departs in [from, to]. Later
+     * legs must leave at least {@code minConnectionMillis} and at most {@code maxLayoverMillis}
+     * after the previous leg lands. Returns the flight ids of the earliest-arriving itinerary for
+     * each number of legs up to {@code maxLegs}, keeping only those that arrive strictly earlier
+     * than every itinerary with fewer legs.
+     */
+    public List<int[]> search(int origin, int destination, long from, long to, int maxLegs,
+                              long minConnectionMillis, long maxLayoverMillis) {
+        int airports = departures.size();
+        long[] best = new long[airports];
+        Arrays.fill(best, Long.MAX_VALUE);
+        long[][] arrival = new long[maxLegs + 1][airports];
+        int[][] viaFlight = new int[maxLegs + 1][airports];
+        int[][] viaAirport = new int[maxLegs + 1][airports];
+        for (int round = 0; round <= maxLegs; round++) {
+            Arrays.fill(arrival[round], Long.MAX_VALUE);
+        }
+        arrival[0][origin] = from;
+        boolean[] marked = new boolean[airports];
+        marked[origin] = true;
+
+        List<int[]> itineraries = new ArrayList<>();
+        for (int round = 1; round <= maxLegs; round++) {
+            boolean[] next = new boolean[airports];
+            boolean any = false;
+            for (int airport = 0; airport < airports; airport++) {
+                if (!marked[airport]) {
+                    continue;
+                }
+                long reachedAt = labelAt(arrival, airport, round - 1);
+                long earliest = round == 1 ? from : reachedAt + minConnectionMillis;
+                long latest = round == 1 ? to : reachedAt + maxLayoverMillis;
+                Departures list = departures.get(airport);
+                for (int i = list.lowerBound(earliest); i < list.size && list.departure[i] <= latest; i++) {
+                    if (list.departure[i] >= best[destination]) {
+                        break;
+                    }
+                    int target = list.destination[i];
+                    long landing = list.arrival[i];
+                    if (target == origin || landing >= best[target] || landing >= best[destination]) {
+                        continue;
+                    }
+                    best[target] = landing;
+                    arrival[round][target] = landing;
+                    viaFlight[round][target] = list.flightId[i];
+                    viaAirport[round][target] = airport;
+                    next[target] = true;
+                    any = true;
+                }
+            }
+            if (arrival[round][destination] != Long.MAX_VALUE) {
+                itineraries.add(trace(arrival, viaFlight, viaAirport, destination, round));
+            }
+            if (!any) {
+                break;
+            }
+            marked = next;
+        }
+        return itineraries;
+    }
+
+    /** The arrival label of the airport after the given round, i.e. the last one set up to then. */
+    private static long labelAt(long[][] arrival, int airport, int round) {
+        for (int r = round; r >= 0; r--) {
+            if (arrival[r][airport] != Long.MAX_VALUE) {
+                return arrival[r][airport];
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static int[] trace(long[][] arrival, int[][] viaFlight, int[][] viaAirport, int destination, int round) {
+        int[] legs = new int[round];
+        int count = 0;
+        int airport = destination;
+        for (int r = round; r >= 1; ) {
+            if (arrival[r][airport] == Long.MAX_VALUE) {
+                r--;
+                continue;
+            }
+            legs[count++] = viaFlight[r][airport];
+            airport = viaAirport[r][airport];
+            r--;
+        }
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = legs[count - 1 - i];
+        }
+        return result;
+    }
+
+    private static class Departures {
+        long[] departure = new long[4];
+        long[] arrival = new long[4];
+        int[] destination = new int[4];
+        int[] flightId = new int[4];
+        int size;
+
+        int lowerBound(long epoch) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (departure[mid] < epoch) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void add(long departureEpoch, long arrivalEpoch, int destinationId, int id) {
+            int index = lowerBound(departureEpoch + 1);
+            if (size == departure.length) {
+                departure = Arrays.copyOf(departure, size * 2);
+                arrival = Arrays.copyOf(arrival, size * 2);
+                destination = Arrays.copyOf(destination, size * 2);
+                flightId = Arrays.copyOf(flightId, size * 2);
+            }
+            System.arraycopy(departure, index, departure, index + 1, size - index);
+            System.arraycopy(arrival, index, arrival, index + 1, size - index);
+            System.arraycopy(destination, index, destination, index + 1, size - index);
+            System.arraycopy(flightId, index, flightId, index + 1, size - index);
+            departure[index] = departureEpoch;
+            arrival[index] = arrivalEpoch;
+            destination[index] = destinationId;
+            flightId[index] = id;
+            size++;
+        }
+
+        void remove(long departureEpoch, int id) {
+            for (int index = lowerBound(departureEpoch); index < size && departure[index] == departureEpoch; index++) {
+                if (flightId[index] == id) {
+                    System.arraycopy(departure, index + 1, departure, index, size - index - 1);
+                    System.arraycopy(arrival, index + 1, arrival, index, size - index - 1);
+                    System.arraycopy(destination, index + 1, destination, index, size - index - 1);
+                    System.arraycopy(flightId, index + 1, flightId, index, size - index - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.util;
+
+import org.example.entity.BaseObject;
+
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String of(BaseObject entity) {
+        return "\"" + (entity.getVersion() == null ? 0 : entity.getVersion()) + "\"";
+    }
+
+    /**
+     * Copies the version named by an If-Match header onto the entity. Returns false when neither
+     * the header nor the body carries a version, so the write could not be checked for staleness.
+     */
+    public static boolean applyIfMatch(BaseObject entity, String ifMatch) {
+        Long expectedVersion = parse(ifMatch);
+        if (expectedVersion != null) {
+            entity.setVersion(expectedVersion);
+        }
+        return entity.getVersion() != null;
+    }
+
+    /**
+     * Parses an If-Match header into the entity version it refers to. Returns null when the header
+     * is absent or "*", and -1 when it cannot name any version so the write is rejected as stale.
+     */
+    public static Long parse(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        int hashStart = value.indexOf('-', 1);
+        if (hashStart > 0) {
+            // cached responses tag as "version-hash"
+            value = value.substring(0, hashStart);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
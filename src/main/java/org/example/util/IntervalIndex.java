@@ -0,0 +1,123 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Half-open [start, end) intervals grouped by key, e.g. the flights of one plane or one gate.
+ * Each group is a tree ordered by start; keeping the length of its longest stored interval bounds
+ * how far back an overlap search has to look, so lookups stay O(log n + k) even when stored intervals
+ * overlap each other. Not thread-safe.
+ */
+public class IntervalIndex<K> {
+    private static final Comparator<Interval> ORDER =
+            Comparator.comparingLong(Interval::start).thenComparingInt(Interval::id);
+
+    private final Map<K, Timeline> timelines = new HashMap<>();
+
+    public void add(K key, int id, long start, long end) {
+        timelines.computeIfAbsent(key, k -> new Timeline()).add(new Interval(id, start, end));
+    }
+
+    public Interval remove(K key, int id) {
+        Timeline timeline = timelines.get(key);
+        if (timeline == null) {
+            return null;
+        }
+        Interval removed = timeline.remove(id);
+        if (timeline.byId.isEmpty()) {
+            timelines.remove(key);
+        }
+        return removed;
+    }
+
+    public List<Interval> overlapping(K key, long start, long end) {
+        List<Interval> result = new ArrayList<>();
+        Timeline timeline = timelines.get(key);
+        if (timeline == null) {
+            return result;
+        }
+        for (Interval interval : timeline.window(start, end)) {
+            if (interval.end() > start && interval.start() < end) {
+                result.add(interval);
+            }
+        }
+        return result;
+    }
+
+    /** Returns the intervals of the key that start at or after the given time, in start order. */
+    public List<Interval> startingFrom(K key, long start) {
+        Timeline timeline = timelines.get(key);
+        if (timeline == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(timeline.intervals.tailSet(new Interval(Integer.MIN_VALUE, start, start), true));
+    }
+
+    /** Returns the gaps inside [from, to) that no interval of the key covers, as {start, end} pairs. */
+    public List<long[]> freeSlots(K key, long from, long to) {
+        List<long[]> slots = new ArrayList<>();
+        long cursor = from;
+        Timeline timeline = timelines.get(key);
+        if (timeline != null) {
+            for (Interval interval : timeline.window(from, to)) {
+                if (interval.end() <= cursor) {
+                    continue;
+                }
+                if (interval.start() > cursor) {
+                    slots.add(new long[]{cursor, Math.min(interval.start(), to)});
+                }
+                cursor = Math.max(cursor, interval.end());
+                if (cursor >= to) {
+                    break;
+                }
+            }
+        }
+        if (cursor < to) {
+            slots.add(new long[]{cursor, to});
+        }
+        return slots;
+    }
+
+    public record Interval(int id, long start, long end) {
+    }
+
+    private static class Timeline {
+        private final TreeSet<Interval> intervals = new TreeSet<>(ORDER);
+        private final Map<Integer, Interval> byId = new HashMap<>();
+        /** Number of stored intervals per length, so the longest one is known after removals too. */
+        private final TreeMap<Long, Integer> lengths = new TreeMap<>();
+
+        void add(Interval interval) {
+            remove(interval.id());
+            intervals.add(interval);
+            byId.put(interval.id(), interval);
+            lengths.merge(interval.end() - interval.start(), 1, Integer::sum);
+        }
+
+        Interval remove(int id) {
+            Interval interval = byId.remove(id);
+            if (interval != null) {
+                intervals.remove(interval);
+                lengths.computeIfPresent(interval.end() - interval.start(), (length, count) -> count == 1 ? null : count - 1);
+            }
+            return interval;
+        }
+
+        NavigableSet<Interval> window(long start, long end) {
+            long maxLength = lengths.isEmpty() ? 0 : lengths.lastKey();
+            Interval from = new Interval(Integer.MIN_VALUE, start - maxLength, 0);
+            Interval to = new Interval(Integer.MIN_VALUE, end, 0);
+            if (ORDER.compare(from, to) >= 0) {
+                return new TreeSet<>(ORDER);
+            }
+            return intervals.subSet(from, true, to, false);
+        }
+    }
+}
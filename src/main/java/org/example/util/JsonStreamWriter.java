@@ -0,0 +1,78 @@
+package org.example.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes items to a response one at a time, either as a single JSON array or as newline
+ * delimited JSON, so a result set never has to be held in memory as a whole. The first items are
+ * flushed straight away and then every {@value #FLUSH_EVERY} items. The array is only closed by
+ * {@link #finish()}, so a stream that fails half way ends as invalid JSON instead of looking like
+ * a complete, shorter result.
+ */
+public class JsonStreamWriter implements Closeable {
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private final boolean ndjson;
+    private int count;
+
+    public JsonStreamWriter(ObjectMapper mapper, OutputStream out, boolean ndjson) throws IOException {
+        this.generator = mapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.ndjson = ndjson;
+        if (ndjson) {
+            // lines are terminated explicitly instead of separated by the default space
+            generator.setRootValueSeparator(null);
+        } else {
+            generator.writeStartArray();
+        }
+    }
+
+    public static boolean wantsNdjson(String accept) {
+        return accept != null && accept.contains(NDJSON.toString());
+    }
+
+    public static MediaType contentType(boolean ndjson) {
+        return ndjson ? NDJSON : MediaType.APPLICATION_JSON;
+    }
+
+    public void write(Object item) {
+        try {
+            writer.writeValue(generator, item);
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+            if (++count == 1 || count % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Ends the array once every item has been written. */
+    public void finish() throws IOException {
+        if (!ndjson) {
+            generator.writeEndArray();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.util;
+
+import org.example.payload.ChangeSet;
+import org.example.payload.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a listing ordered by (time, id), encoded as an opaque URL-safe string. Seeking to
+ * "rows after this position" uses the (time, id) index directly, so every page costs the same
+ * however deep it is, unlike OFFSET paging.
+ */
+public final class KeysetCursor {
+    /** Most changes handed out by one poll; larger limits are cut down to this. */
+    public static final int MAX_CHANGES = 1000;
+
+    private final long epochSecond;
+    private final int nano;
+    private final int id;
+
+    private KeysetCursor(long epochSecond, int nano, int id) {
+        this.epochSecond = epochSecond;
+        this.nano = nano;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(Date time, Integer id) {
+        Instant instant = time.toInstant();
+        return new KeysetCursor(instant.getEpochSecond(), instant.getNano(), id);
+    }
+
+    public static KeysetCursor of(LocalDateTime time, Integer id) {
+        return new KeysetCursor(time.toEpochSecond(ZoneOffset.UTC), time.getNano(), id);
+    }
+
+    /** Returns null for a missing or blank cursor, i.e. the first page. */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new KeysetCursor(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = epochSecond + ":" + nano + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Date toDate() {
+        return Date.from(Instant.ofEpochSecond(epochSecond, nano));
+    }
+
+    public LocalDateTime toLocalDateTime() {
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of pageSize + 1; the extra row only tells
+     * whether there is a next page and is not returned.
+     */
+    public static <T> CursorPage<T> page(List<T> rows, int pageSize, Function<T, KeysetCursor> cursorOf) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, pageSize));
+        return new CursorPage<>(items, cursorOf.apply(items.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Builds a change set from rows fetched with a limit of limit + 1. With no rows the caller's
+     * watermark is handed back unchanged so the next poll resumes from the same place.
+     */
+    public static <T> ChangeSet<T> changes(List<T> rows, int limit, String since, Function<T, KeysetCursor> cursorOf) {
+        CursorPage<T> page = page(rows, limit, cursorOf);
+        List<T> items = page.getItems();
+        String watermark = items.isEmpty() ? since : cursorOf.apply(items.get(items.size() - 1)).encode();
+        return new ChangeSet<>(items, watermark, page.getNextCursor() != null);
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Prefix trie whose nodes cache the best {@code maxResults} values of their subtree by weight,
+ * so a top-k lookup costs one walk down the prefix. Children are kept in sorted parallel arrays
+ * rather than maps to keep nodes small. A value may be stored under several keys and is reported
+ * once. Changing a weight re-ranks only the nodes on that key's path. Not thread-safe.
+ */
+public class PrefixTrie<V> {
+    private static final Comparator<Ranked<?>> BY_WEIGHT = (a, b) -> Long.compare(b.weight, a.weight);
+
+    private final int maxResults;
+    private Node<V> root = new Node<>();
+
+    public PrefixTrie(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    /** Stores the value under the key with the given weight; a weight of zero or less removes it. */
+    public void put(String key, V value, long weight) {
+        List<Node<V>> path = new ArrayList<>(key.length() + 1);
+        Node<V> node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            Node<V> child = node.child(key.charAt(i));
+            if (child == null) {
+                if (weight <= 0) {
+                    return;
+                }
+                child = node.addChild(key.charAt(i));
+            }
+            node = child;
+            path.add(node);
+        }
+        node.terminals.removeIf(ranked -> ranked.value.equals(value));
+        if (weight > 0) {
+            node.terminals.add(new Ranked<>(value, weight));
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node<V> current = path.get(i);
+            if (i > 0 && current.isEmpty()) {
+                path.get(i - 1).removeChild(key.charAt(i - 1));
+            } else {
+                rank(current);
+            }
+        }
+    }
+
+    public List<V> top(String prefix, int limit) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        List<V> result = new ArrayList<>(Math.max(0, Math.min(limit, node.top.length)));
+        for (int i = 0; i < node.top.length && i < limit; i++) {
+            result.add(node.top[i].value);
+        }
+        return result;
+    }
+
+    public void clear() {
+        root = new Node<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rank(Node<V> node) {
+        List<Ranked<V>> candidates = new ArrayList<>(node.terminals);
+        for (Node<V> child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(BY_WEIGHT);
+        Set<V> seen = new LinkedHashSet<>();
+        List<Ranked<V>> top = new ArrayList<>(maxResults);
+        for (Ranked<V> ranked : candidates) {
+            if (top.size() == maxResults) {
+                break;
+            }
+            if (seen.add(ranked.value)) {
+                top.add(ranked);
+            }
+        }
+        node.top = top.toArray(new Ranked[0]);
+    }
+
+    private record Ranked<V>(V value, long weight) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static class Node<V> {
+        char[] labels = new char[0];
+        Node<V>[] children = new Node[0];
+        List<Ranked<V>> terminals = new ArrayList<>(1);
+        Ranked<V>[] top = new Ranked[0];
+
+        Node<V> child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node<V> addChild(char label) {
+            int index = -Arrays.binarySearch(labels, label) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node<V>[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node<V> child = new Node<>();
+            newLabels[index] = label;
+            newChildren[index] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node<V>[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return terminals.isEmpty() && labels.length == 0;
+        }
+    }
+}
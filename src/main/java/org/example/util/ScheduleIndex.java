@@ -0,0 +1,187 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Column-oriented departure index. Airport codes are dictionary-encoded to ints and every
+ * (origin, destination) route keeps two parallel primitive arrays, departure epochs and flight
+ * ids, sorted by departure. A route and time window query is two binary searches and a slice.
+ * Per-flight bookkeeping is held in arrays indexed by flight id, which suits the dense ids the
+ * sequences hand out. Not thread-safe.
+ */
+public class ScheduleIndex {
+    private final Map<String, Integer> airportIds = new HashMap<>();
+    private final List<String> airportCodes = new ArrayList<>();
+    private final Map<Long, Route> routes = new HashMap<>();
+    private final Map<Integer, Set<Integer>> destinationsByOrigin = new HashMap<>();
+    private final Map<Integer, Set<Integer>> originsByDestination = new HashMap<>();
+
+    private long[] routeOfFlight = new long[1024];
+    private long[] epochOfFlight = new long[1024];
+    private boolean[] indexed = new boolean[1024];
+    private int size;
+
+    /** Returns the dictionary id of the airport code, assigning the next free one if needed. */
+    public int encode(String code) {
+        Integer id = airportIds.get(code);
+        if (id == null) {
+            id = airportCodes.size();
+            airportIds.put(code, id);
+            airportCodes.add(code);
+        }
+        return id;
+    }
+
+    /** Returns the dictionary id of the airport code, or -1 when no flight has used it. */
+    public int idOf(String code) {
+        Integer id = airportIds.get(code);
+        return id == null ? -1 : id;
+    }
+
+    public String decode(int airportId) {
+        return airportCodes.get(airportId);
+    }
+
+    public int airportCount() {
+        return airportCodes.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void put(int flightId, int origin, int destination, long departureEpoch) {
+        remove(flightId);
+        ensureCapacity(flightId);
+        long routeKey = routeKey(origin, destination);
+        routes.computeIfAbsent(routeKey, key -> {
+            destinationsByOrigin.computeIfAbsent(origin, id -> new HashSet<>()).add(destination);
+            originsByDestination.computeIfAbsent(destination, id -> new HashSet<>()).add(origin);
+            return new Route();
+        }).add(departureEpoch, flightId);
+        routeOfFlight[flightId] = routeKey;
+        epochOfFlight[flightId] = departureEpoch;
+        indexed[flightId] = true;
+        size++;
+    }
+
+    public void remove(int flightId) {
+        if (flightId < 0 || flightId >= indexed.length || !indexed[flightId]) {
+            return;
+        }
+        Route route = routes.get(routeOfFlight[flightId]);
+        route.remove(epochOfFlight[flightId], flightId);
+        if (route.size == 0) {
+            long routeKey = routeOfFlight[flightId];
+            routes.remove(routeKey);
+            unlink(destinationsByOrigin, (int) (routeKey >>> 32), (int) routeKey);
+            unlink(originsByDestination, (int) routeKey, (int) (routeKey >>> 32));
+        }
+        indexed[flightId] = false;
+        size--;
+    }
+
+    public void clear() {
+        routes.clear();
+        destinationsByOrigin.clear();
+        originsByDestination.clear();
+        Arrays.fill(indexed, false);
+        size = 0;
+    }
+
+    /** Ids of the flights on the route departing in [from, to], in departure order. */
+    public int[] slice(int origin, int destination, long from, long to) {
+        Route route = routes.get(routeKey(origin, destination));
+        if (route == null) {
+            return new int[0];
+        }
+        int start = route.lowerBound(from);
+        int end = route.lowerBound(to == Long.MAX_VALUE ? to : to + 1);
+        return Arrays.copyOfRange(route.flightIds, start, Math.max(start, end));
+    }
+
+    /** Airports that have at least one indexed flight from the origin. */
+    public Set<Integer> destinationsOf(int origin) {
+        return destinationsByOrigin.getOrDefault(origin, Set.of());
+    }
+
+    /** Airports that have at least one indexed flight to the destination. */
+    public Set<Integer> originsOf(int destination) {
+        return originsByDestination.getOrDefault(destination, Set.of());
+    }
+
+    private static void unlink(Map<Integer, Set<Integer>> links, int from, int to) {
+        Set<Integer> targets = links.get(from);
+        if (targets != null && targets.remove(to) && targets.isEmpty()) {
+            links.remove(from);
+        }
+    }
+
+    private void ensureCapacity(int flightId) {
+        if (flightId < indexed.length) {
+            return;
+        }
+        int capacity = Math.max(flightId + 1, indexed.length * 2);
+        routeOfFlight = Arrays.copyOf(routeOfFlight, capacity);
+        epochOfFlight = Arrays.copyOf(epochOfFlight, capacity);
+        indexed = Arrays.copyOf(indexed, capacity);
+    }
+
+    private static long routeKey(int origin, int destination) {
+        return ((long) origin << 32) | (destination & 0xffffffffL);
+    }
+
+    private static class Route {
+        long[] epochs = new long[4];
+        int[] flightIds = new int[4];
+        int size;
+
+        /** First position whose departure is not before the epoch. */
+        int lowerBound(long epoch) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (epochs[mid] < epoch) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void add(long epoch, int flightId) {
+            int index = lowerBound(epoch);
+            while (index < size && epochs[index] == epoch && flightIds[index] < flightId) {
+                index++;
+            }
+            if (size == epochs.length) {
+                epochs = Arrays.copyOf(epochs, size * 2);
+                flightIds = Arrays.copyOf(flightIds, size * 2);
+            }
+            System.arraycopy(epochs, index, epochs, index + 1, size - index);
+            System.arraycopy(flightIds, index, flightIds, index + 1, size - index);
+            epochs[index] = epoch;
+            flightIds[index] = flightId;
+            size++;
+        }
+
+        void remove(long epoch, int flightId) {
+            for (int index = lowerBound(epoch); index < size && epochs[index] == epoch; index++) {
+                if (flightIds[index] == flightId) {
+                    System.arraycopy(epochs, index + 1, epochs, index, size - index - 1);
+                    System.arraycopy(flightIds, index + 1, flightIds, index, size - index - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+}
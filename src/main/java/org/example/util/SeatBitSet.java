@@ -0,0 +1,99 @@
+package org.example.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bitset of taken seat ids for a single flight.
+ * Bits are stored in pages of 4096 seats which are allocated on first use, so a flight
+ * only pays for the id ranges its seats actually live in.
+ */
+public class SeatBitSet {
+    private static final int PAGE_SHIFT = 12;
+    private static final int WORDS_PER_PAGE = 1 << (PAGE_SHIFT - 6);
+
+    private final ConcurrentHashMap<Integer, AtomicLongArray> pages = new ConcurrentHashMap<>();
+
+    public boolean tryClaim(int seatId) {
+        AtomicLongArray words = pages.computeIfAbsent(pageOf(seatId), key -> new AtomicLongArray(WORDS_PER_PAGE));
+        int index = wordOf(seatId);
+        long mask = 1L << seatId;
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean release(int seatId) {
+        AtomicLongArray words = pages.get(pageOf(seatId));
+        if (words == null) {
+            return false;
+        }
+        int index = wordOf(seatId);
+        long mask = 1L << seatId;
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current & ~mask)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean isTaken(int seatId) {
+        AtomicLongArray words = pages.get(pageOf(seatId));
+        return words != null && (words.get(wordOf(seatId)) & (1L << seatId)) != 0;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (AtomicLongArray words : pages.values()) {
+            for (int i = 0; i < words.length(); i++) {
+                count += Long.bitCount(words.get(i));
+            }
+        }
+        return count;
+    }
+
+    public int[] toArray() {
+        int[] result = new int[16];
+        int size = 0;
+        for (Map.Entry<Integer, AtomicLongArray> entry : pages.entrySet()) {
+            int base = entry.getKey() << PAGE_SHIFT;
+            AtomicLongArray words = entry.getValue();
+            for (int i = 0; i < words.length(); i++) {
+                long word = words.get(i);
+                while (word != 0) {
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, size * 2);
+                    }
+                    result[size++] = base + (i << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+        }
+        int[] seats = Arrays.copyOf(result, size);
+        Arrays.sort(seats);
+        return seats;
+    }
+
+    private static int pageOf(int seatId) {
+        if (seatId < 0) {
+            throw new IllegalArgumentException("Invalid seat id: " + seatId);
+        }
+        return seatId >>> PAGE_SHIFT;
+    }
+
+    private static int wordOf(int seatId) {
+        return (seatId >>> 6) & (WORDS_PER_PAGE - 1);
+    }
+}
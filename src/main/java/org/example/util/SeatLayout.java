@@ -0,0 +1,209 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable cabin layout derived from seat names such as "12A". Seats in a row are ordered by
+ * their letter and neighbouring letters are treated as adjacent unless an aisle follows the
+ * first of them. Seats whose name does not follow the row/letter pattern are kept for type
+ * lookups but never offered as part of a block.
+ *
+ * <p>Seats are not linked to a plane, so there is a single layout for the whole fleet: when two
+ * seats share a name only the one with the lower id takes the position, and the per-type counts
+ * are fleet-wide rather than per aircraft.
+ */
+public class SeatLayout {
+    private static final Pattern SEAT_NAME = Pattern.compile("^\\s*(\\d+)\\s*([A-Za-z])\\s*$");
+
+    private final List<Row> rows;
+    private final Map<Integer, Integer> seatTypes;
+    private final Map<Integer, Integer> positions;
+    private final int duplicateNames;
+
+    private SeatLayout(List<Row> rows, Map<Integer, Integer> seatTypes, Map<Integer, Integer> positions,
+                       int duplicateNames) {
+        this.rows = rows;
+        this.seatTypes = seatTypes;
+        this.positions = positions;
+        this.duplicateNames = duplicateNames;
+    }
+
+    public static SeatLayout build(List<SeatInfo> seats) {
+        return build(seats, "");
+    }
+
+    /**
+     * @param aisleAfter seat letters that are followed by an aisle, e.g. "C" for a 3-3 cabin
+     */
+    public static SeatLayout build(List<SeatInfo> seats, String aisleAfter) {
+        TreeMap<Integer, TreeMap<Character, SeatInfo>> grouped = new TreeMap<>();
+        Map<Integer, Integer> seatTypes = new HashMap<>();
+        int duplicateNames = 0;
+        for (SeatInfo seat : seats) {
+            seatTypes.put(seat.id(), seat.type());
+            Matcher matcher = SEAT_NAME.matcher(seat.name() == null ? "" : seat.name());
+            if (matcher.matches()) {
+                TreeMap<Character, SeatInfo> row = grouped.computeIfAbsent(Integer.parseInt(matcher.group(1)),
+                        key -> new TreeMap<>());
+                SeatInfo existing = row.putIfAbsent(Character.toUpperCase(matcher.group(2).charAt(0)), seat);
+                if (existing != null) {
+                    duplicateNames++;
+                    if (seat.id() < existing.id()) {
+                        row.put(Character.toUpperCase(matcher.group(2).charAt(0)), seat);
+                    }
+                }
+            }
+        }
+        String aisles = aisleAfter == null ? "" : aisleAfter.toUpperCase();
+        List<Row> rows = new ArrayList<>(grouped.size());
+        Map<Integer, Integer> positions = new HashMap<>();
+        for (Map.Entry<Integer, TreeMap<Character, SeatInfo>> entry : grouped.entrySet()) {
+            List<Map.Entry<Character, SeatInfo>> rowSeats = new ArrayList<>(entry.getValue().entrySet());
+            int[] seatIds = new int[rowSeats.size()];
+            int[] types = new int[rowSeats.size()];
+            long windowMask = 0;
+            long aisleMask = 0;
+            for (int i = 0; i < rowSeats.size(); i++) {
+                SeatInfo seat = rowSeats.get(i).getValue();
+                seatIds[i] = seat.id();
+                types[i] = seat.type();
+                positions.put(seat.id(), rows.size() * 64 + i);
+                if (seat.haveWindow()) {
+                    windowMask |= 1L << i;
+                }
+                if (aisles.indexOf(rowSeats.get(i).getKey()) >= 0) {
+                    aisleMask |= 1L << i;
+                }
+            }
+            rows.add(new Row(rows.size(), entry.getKey(), seatIds, types, windowMask, aisleMask));
+        }
+        return new SeatLayout(Collections.unmodifiableList(rows), seatTypes, positions, duplicateNames);
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /** Number of seats that were left out of the rows because another seat already had their name. */
+    public int getDuplicateNames() {
+        return duplicateNames;
+    }
+
+    /** Returns the seat type ordinal of the given seat, or -1 when the seat is unknown. */
+    public int typeOf(int seatId) {
+        Integer type = seatTypes.get(seatId);
+        return type == null ? -1 : type;
+    }
+
+    /**
+     * Returns the position of the seat as {@code rowIndex * 64 + column}, or -1 when the seat is
+     * not part of any row.
+     */
+    public int positionOf(int seatId) {
+        Integer position = positions.get(seatId);
+        return position == null ? -1 : position;
+    }
+
+    /** Number of known seats of each type, indexed by seat type ordinal. */
+    public int[] countByType(int typeCount) {
+        int[] counts = new int[typeCount];
+        for (int type : seatTypes.values()) {
+            if (type >= 0 && type < typeCount) {
+                counts[type]++;
+            }
+        }
+        return counts;
+    }
+
+    public record SeatInfo(int id, String name, int type, boolean haveWindow) {
+    }
+
+    public static class Row {
+        private final int index;
+        private final int number;
+        private final int[] seatIds;
+        private final int[] types;
+        private final long windowMask;
+        /** Bit i is set when an aisle separates column i from column i + 1. */
+        private final long aisleMask;
+
+        private Row(int index, int number, int[] seatIds, int[] types, long windowMask, long aisleMask) {
+            if (seatIds.length > 64) {
+                throw new IllegalArgumentException("Row " + number + " has more than 64 seats");
+            }
+            this.index = index;
+            this.number = number;
+            this.seatIds = seatIds;
+            this.types = types;
+            this.windowMask = windowMask;
+            this.aisleMask = aisleMask;
+        }
+
+        /** Position of this row in {@link SeatLayout#getRows()}. */
+        public int getIndex() {
+            return index;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public int width() {
+            return seatIds.length;
+        }
+
+        public int seatAt(int column) {
+            return seatIds[column];
+        }
+
+        public long windowMask() {
+            return windowMask;
+        }
+
+        public long fullMask() {
+            return seatIds.length == 64 ? -1L : (1L << seatIds.length) - 1;
+        }
+
+        /** Bit i is set when column i has the given seat type ordinal; a negative type matches every seat. */
+        public long typeMask(int type) {
+            if (type < 0) {
+                return fullMask();
+            }
+            long mask = 0;
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] == type) {
+                    mask |= 1L << i;
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * Returns a mask of the columns at which a block of {@code length} adjacent seats from
+         * {@code free} starts without crossing an aisle.
+         */
+        public long blockStarts(long free, int length) {
+            long starts = runStarts(free, length);
+            return length < 2 ? starts : starts & runStarts(~aisleMask & fullMask(), length - 1);
+        }
+
+        /**
+         * Returns a mask of the columns at which a run of {@code length} consecutive seats from
+         * {@code free} starts.
+         */
+        public static long runStarts(long free, int length) {
+            long starts = free;
+            for (int k = 1; k < length && starts != 0; k++) {
+                starts &= free >>> k;
+            }
+            return starts;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Taken seats of a single flight laid out as one bitmask per row of a {@link SeatLayout}, so
+ * that block searches read a row with a single load instead of one lookup per seat.
+ * Bit i of row r is set when the seat at column i of that row is taken.
+ */
+public class SeatRowMasks {
+    private final SeatLayout layout;
+    private final AtomicLongArray taken;
+
+    public SeatRowMasks(SeatLayout layout, SeatBitSet seats) {
+        this.layout = layout;
+        List<SeatLayout.Row> rows = layout.getRows();
+        this.taken = new AtomicLongArray(rows.size());
+        if (seats == null) {
+            return;
+        }
+        for (SeatLayout.Row row : rows) {
+            long mask = 0;
+            for (int i = 0; i < row.width(); i++) {
+                if (seats.isTaken(row.seatAt(i))) {
+                    mask |= 1L << i;
+                }
+            }
+            taken.set(row.getIndex(), mask);
+        }
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    public long freeMask(SeatLayout.Row row) {
+        return row.fullMask() & ~taken.get(row.getIndex());
+    }
+
+    /** Sets or clears the bit of the given seat; seats outside the layout rows are ignored. */
+    public void set(int seatId, boolean isTaken) {
+        int position = layout.positionOf(seatId);
+        if (position < 0) {
+            return;
+        }
+        long bit = 1L << (position & 63);
+        taken.getAndUpdate(position >>> 6, mask -> isTaken ? mask | bit : mask & ~bit);
+    }
+}
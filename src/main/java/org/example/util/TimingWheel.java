@@ -0,0 +1,141 @@
+package org.example.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Scheduling and cancelling are O(1); every level above the first
+ * holds coarser slots which are cascaded down one level each time the level below wraps.
+ * The owner is expected to call {@link #advanceTo(long)} once per tick.
+ */
+public class TimingWheel {
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int bits;
+    private final int mask;
+    private final Timeout[][] wheels;
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelBits, long startMillis) {
+        if (tickMillis <= 0 || wheelBits <= 0 || wheelBits * LEVELS >= 63) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.bits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.wheels = new Timeout[LEVELS][1 << wheelBits];
+        for (Timeout[] wheel : wheels) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new Timeout(null, 0);
+                wheel[i].prev = wheel[i];
+                wheel[i].next = wheel[i];
+            }
+        }
+    }
+
+    public synchronized Timeout schedule(Runnable task, long deadlineMillis) {
+        Timeout timeout = new Timeout(task, Math.max(0, (deadlineMillis - startMillis + tickMillis - 1) / tickMillis));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public synchronized boolean cancel(Timeout timeout) {
+        if (timeout == null || timeout.prev == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Moves the wheel forward to the given time and runs every task whose deadline has passed.
+     * Tasks run on the calling thread, outside the wheel's lock.
+     */
+    public void advanceTo(long nowMillis) {
+        List<Runnable> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = (nowMillis - startMillis) / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                Timeout head = wheels[0][(int) (currentTick & mask)];
+                while (head.next != head) {
+                    Timeout timeout = head.next;
+                    unlink(timeout);
+                    size--;
+                    expired.add(timeout.task);
+                }
+            }
+        }
+        for (Runnable task : expired) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Timing wheel task failed", e);
+            }
+        }
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (bits * level)) - 1)) != 0) {
+                return;
+            }
+            Timeout head = wheels[level][(int) ((currentTick >>> (bits * level)) & mask)];
+            while (head.next != head) {
+                Timeout timeout = head.next;
+                unlink(timeout);
+                place(timeout);
+            }
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long deadline = Math.max(timeout.deadlineTick, currentTick + 1);
+        long delta = Math.min(deadline - currentTick, (1L << (bits * LEVELS)) - 1);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        long slotTick = level == 0 ? deadline : currentTick + delta;
+        Timeout head = wheels[level][(int) ((slotTick >>> (bits * level)) & mask)];
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+
+    private static void unlink(Timeout timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    public static class Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from character trigrams of folded text to the ids of the documents containing
+ * them. Posting lists are sorted int arrays, so a substring query is answered by intersecting
+ * the lists of its trigrams, smallest first, with binary search into the larger ones. The result
+ * is a candidate set: every document containing the substring is in it, but the trigrams may
+ * occur apart, so callers still have to check the real predicate. Not thread-safe.
+ */
+public class TrigramIndex {
+    public static final int GRAM = 3;
+
+    private final Map<Long, Posting> postings = new HashMap<>();
+    private final Map<Integer, long[]> documents = new HashMap<>();
+
+    /** Indexes the document under all given texts, replacing whatever it was indexed under before. */
+    public void put(int id, String... texts) {
+        remove(id);
+        long[] grams = grams(texts);
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Posting()).add(id);
+        }
+        documents.put(id, grams);
+    }
+
+    public void remove(int id) {
+        long[] grams = documents.remove(id);
+        if (grams == null) {
+            return;
+        }
+        for (long gram : grams) {
+            Posting posting = postings.get(gram);
+            if (posting != null && posting.remove(id) && posting.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Returns the sorted ids of the documents that may contain the query as a substring, or null
+     * when the folded query is shorter than a trigram and so cannot narrow anything down.
+     */
+    public int[] candidates(String query) {
+        long[] grams = grams(query);
+        if (grams.length == 0) {
+            return null;
+        }
+        List<Posting> lists = new ArrayList<>(grams.length);
+        for (long gram : grams) {
+            Posting posting = postings.get(gram);
+            if (posting == null) {
+                return new int[0];
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(posting -> posting.size));
+        int[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    /** Intersects two sorted id arrays; either may be null, meaning "no constraint". */
+    public static int[] intersect(int[] a, int[] b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        int[] result = new int[Math.min(a.length, b.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] intersect(int[] small, Posting large) {
+        int[] result = new int[small.length];
+        int count = 0;
+        int from = 0;
+        for (int id : small) {
+            int index = Arrays.binarySearch(large.ids, from, large.size, id);
+            if (index >= 0) {
+                result[count++] = id;
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+            if (from >= large.size) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static long[] grams(String... texts) {
+        long[] grams = new long[16];
+        int count = 0;
+        for (String text : texts) {
+            String folded = TextNormalizer.fold(text);
+            for (int i = 0; i + GRAM <= folded.length(); i++) {
+                if (count == grams.length) {
+                    grams = Arrays.copyOf(grams, count * 2);
+                }
+                grams[count++] = ((long) folded.charAt(i) << 32) | ((long) folded.charAt(i + 1) << 16) | folded.charAt(i + 2);
+            }
+        }
+        return Arrays.stream(grams, 0, count).sorted().distinct().toArray();
+    }
+
+    private static class Posting {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.constant.FlightStatus;
+import org.example.constant.Role;
+import org.example.constant.SeatType;
+import org.example.constant.TransactionStatusEnum;
+import org.example.entity.Flight;
+import org.example.entity.Plane;
+import org.example.entity.Seat;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Listing pages must cost one statement whatever their size: the entity graphs on the list
+ * queries fetch every association the response serialises in the same select.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listing;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ListingQueryCountTest {
+    private static final int ROWS = 30;
+    private static final int FLIGHTS_WITH_BOOKINGS = 3;
+    private static final LocalDateTime FIRST_START = LocalDateTime.of(2026, 1, 1, 8, 0);
+    private static final int[] PAGE_SIZES = {5, 10};
+
+    /** Only the JPA layer; the application class would scan every service as well. */
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = TransactionRepository.class)
+    @EntityScan(basePackageClasses = Transaction.class)
+    static class JpaOnly {
+    }
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    private Statistics statistics;
+    private final List<Flight> flights = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Plane plane = entityManager.persist(Plane.builder().name("Plane " + i).build());
+            LocalDateTime start = FIRST_START.plusHours(i);
+            flights.add(entityManager.persist(Flight.builder().name("QA" + i).plane(plane)
+                    .startTime(start).endTime(start.plusHours(2)).status(FlightStatus.OPEN)
+                    .departure("Ha Noi").departureCode("HAN").arrival("Ho Chi Minh").arrivalCode("SGN").gate("G" + i)
+                    .build()));
+        }
+        for (int i = 0; i < ROWS; i++) {
+            Seat seat = entityManager.persist(Seat.builder().name("A" + i).type(SeatType.ECONOMY).build());
+            User user = entityManager.persist(User.builder().email("user" + i + "@example.org").password("secret")
+                    .name("User " + i).role(Role.USER).build());
+            Transaction transaction = Transaction.builder().user(user).flight(flights.get(i % FLIGHTS_WITH_BOOKINGS))
+                    .seat(seat).status(TransactionStatusEnum.BOOKED).price("100").build();
+            transaction.setCreateDate(java.util.Date.from(FIRST_START.plusMinutes(i).atZone(ZoneId.systemDefault()).toInstant()));
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void transactionPage() {
+        assertOneStatementPerPage(size -> transactionRepository.findByIsDeletedFalse(PageRequest.of(0, size)).getContent(),
+                this::touchTransaction);
+    }
+
+    @Test
+    void transactionConditions() {
+        assertOneStatementPerPage(size -> transactionRepository.findByFlightNameContainsAndAndCreateDateBetweenAndStatusAndIsDeletedFalse(
+                "QA", Date.valueOf("2025-01-01"), Date.valueOf("2027-01-01"), TransactionStatusEnum.BOOKED,
+                PageRequest.of(0, size)), this::touchTransaction);
+    }
+
+    @Test
+    void transactionsByFlight() {
+        assertOneStatement(ROWS / FLIGHTS_WITH_BOOKINGS,
+                () -> transactionRepository.findByFlightIdAndIsDeletedFalse(flights.get(0).getId()), this::touchTransaction);
+    }
+
+    @Test
+    void transactionKeysetPages() {
+        assertOneStatementPerPage(size -> transactionRepository.findFirstKeysetPage(PageRequest.of(0, size)), this::touchTransaction);
+        Transaction first = transactionRepository.findFirstKeysetPage(PageRequest.of(0, 1)).get(0);
+        assertOneStatementPerPage(size -> transactionRepository.findKeysetPageAfter(first.getCreateDate(), first.getId(),
+                PageRequest.of(0, size)), this::touchTransaction);
+    }
+
+    @Test
+    void flightPage() {
+        assertOneStatementPerPage(size -> flightRepository.findByIsDeletedFalse(PageRequest.of(0, size)), this::touchFlight);
+    }
+
+    @Test
+    void flightConditions() {
+        assertOneStatementPerPage(size -> flightRepository.findByIsDeletedFalseAndNameContainsAndStartTimeBetweenAndDepartureContainsAndArrivalContains(
+                "QA", FIRST_START, FIRST_START.plusDays(2), "Ha", "Ho", PageRequest.of(0, size)), this::touchFlight);
+        assertOneStatementPerPage(size -> flightRepository.searchFlights("qa", FIRST_START, FIRST_START.plusDays(2),
+                "ha", "ho", PageRequest.of(0, size)), this::touchFlight);
+    }
+
+    @Test
+    void flightKeysetPages() {
+        assertOneStatementPerPage(size -> flightRepository.findFirstKeysetPage(PageRequest.of(0, size)), this::touchFlight);
+        assertOneStatementPerPage(size -> flightRepository.findKeysetPageAfter(FIRST_START, flights.get(0).getId(),
+                PageRequest.of(0, size)), this::touchFlight);
+    }
+
+    private <T> void assertOneStatementPerPage(IntFunction<List<T>> query, Consumer<T> touch) {
+        for (int size : PAGE_SIZES) {
+            assertOneStatement(size, () -> query.apply(size), touch);
+        }
+    }
+
+    private <T> void assertOneStatement(int expectedRows, Supplier<List<T>> query, Consumer<T> touch) {
+        entityManager.clear();
+        statistics.clear();
+        List<T> rows = query.get();
+        rows.forEach(touch);
+        assertEquals(expectedRows, rows.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void touchTransaction(Transaction transaction) {
+        transaction.getUser().getName();
+        transaction.getFlight().getPlane().getName();
+        transaction.getSeat().getName();
+    }
+
+    private void touchFlight(Flight flight) {
+        flight.getPlane().getName();
+    }
+}